@@ -0,0 +1,53 @@
+package com.cryptowallet.idempotency;
+
+import com.cryptowallet.dto.SendTransactionRequest;
+import com.cryptowallet.dto.TransactionDTO;
+import com.cryptowallet.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Повтор send с тем же Idempotency-Key, ответ которого уже в кэше: хэш тела запроса и поиск в Caffeine.
+// Mongo на этом пути не вызывается, поэтому шаблон не нужен (null).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdempotencyReplayBenchmark {
+
+    private static final String USER_ID = "user-1";
+    private static final String KEY = "3f1c2a9e-5b7d-4e8a-9c0f-1a2b3c4d5e6f";
+
+    private IdempotencyService idempotencyService;
+    private SendTransactionRequest request;
+
+    @Setup
+    public void setUp() {
+        IdempotencyCache cache = new IdempotencyCache(10_000, Duration.ofHours(1));
+        idempotencyService = new IdempotencyService(null, Jackson2ObjectMapperBuilder.json().build(), cache);
+        request = new SendTransactionRequest("wallet-1", "0xrecipient", Money.parse("0.0125"));
+        cache.put(IdempotencyKeys.id(USER_ID, KEY), IdempotencyKeys.fingerprint(request),
+                TransactionDTO.builder().id("tx-1").type("send").amount(request.getAmount()).build());
+    }
+
+    @Benchmark
+    public IdempotentResult<TransactionDTO> replayFromCache() {
+        return idempotencyService.execute(USER_ID, KEY, IdempotencyKeys.fingerprint(request), TransactionDTO.class,
+                () -> {
+                    throw new IllegalStateException("replay must not execute the request");
+                });
+    }
+}
@@ -0,0 +1,154 @@
+package com.cryptowallet.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.util.Duration;
+import net.logstash.logback.appender.LoggingEventAsyncDisruptorAppender;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Цена логирования одного входа для потока запроса.
+// legacyLogin — три INFO-строки, как было (попытка, успех в сервисе, успех в контроллере);
+// currentLogin — попытка на DEBUG (отключён) и одна строка об успехе.
+// appenders: sync-pattern — прежний синхронный текстовый вывод в файл; async-json — JSON через кольцевой буфер;
+// async-json-sampled — то же плюс выборка 1 из 10 для успешных путей.
+// В async-режимах при переполненном буфере события отбрасываются — меряется задержка вызывающего, а не пропускная
+// способность записи на диск.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class LoginLoggingBenchmark {
+
+    private static final String SERVICE_LOGGER = "com.cryptowallet.service.AuthService";
+    private static final String CONTROLLER_LOGGER = "com.cryptowallet.controller.AuthController";
+
+    @Param({"sync-pattern", "async-json", "async-json-sampled"})
+    public String appenders;
+
+    private LoggerContext context;
+    private Logger serviceLogger;
+    private Logger controllerLogger;
+    private Path logFile;
+
+    @State(Scope.Thread)
+    public static class Request {
+        final String username = "user-" + UUID.randomUUID().toString().substring(0, 8);
+        final String userId = UUID.randomUUID().toString();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            RequestIds.from(null, null).putMdc();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            MDC.clear();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("login-logging", ".log");
+        context = new LoggerContext();
+        // Отдельному контексту нужен тот же MDC, что и у SLF4J, иначе requestId не попадёт в события
+        context.setMDCAdapter(MDC.getMDCAdapter());
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile(logFile.toString());
+        file.setEncoder(appenders.equals("sync-pattern") ? patternEncoder() : jsonEncoder());
+        file.start();
+
+        Appender<ILoggingEvent> root = file;
+        if (appenders.startsWith("async")) {
+            LoggingEventAsyncDisruptorAppender async = new LoggingEventAsyncDisruptorAppender();
+            async.setContext(context);
+            async.setRingBufferSize(8192);
+            // Как в logback-spring.xml: при заполненном буфере событие отбрасывается
+            async.setAppendTimeout(Duration.buildByMilliseconds(0));
+            async.addAppender(file);
+            async.start();
+            root = async;
+        }
+        if (appenders.endsWith("sampled")) {
+            SamplingTurboFilter sampling = new SamplingTurboFilter();
+            sampling.setContext(context);
+            sampling.setLoggers(SERVICE_LOGGER + "," + CONTROLLER_LOGGER);
+            sampling.setKeepOneIn(10);
+            sampling.start();
+            context.addTurboFilter(sampling);
+        }
+
+        Logger rootLogger = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        rootLogger.setLevel(ch.qos.logback.classic.Level.INFO);
+        rootLogger.addAppender(root);
+        serviceLogger = context.getLogger(SERVICE_LOGGER);
+        controllerLogger = context.getLogger(CONTROLLER_LOGGER);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.stop();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void legacyLogin(Request request) {
+        serviceLogger.info("Attempting login for username: {}", request.username);
+        serviceLogger.info("Login successful: username={}, id={}", request.username, request.userId);
+        controllerLogger.info("Login endpoint: success username={}", request.username);
+    }
+
+    @Benchmark
+    public void currentLogin(Request request) {
+        serviceLogger.debug("Attempting login for username: {}", request.username);
+        serviceLogger.info("Login successful: username={}, id={}", request.username, request.userId);
+    }
+
+    private Encoder<ILoggingEvent> patternEncoder() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%t] %-40.40logger{39} : %m%n");
+        encoder.start();
+        return encoder;
+    }
+
+    private Encoder<ILoggingEvent> jsonEncoder() {
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.setIncludeContext(false);
+        encoder.addIncludeMdcKeyName(RequestIds.REQUEST_ID_MDC);
+        encoder.addIncludeMdcKeyName(RequestIds.TRACE_ID_MDC);
+        encoder.start();
+        return encoder;
+    }
+}
@@ -0,0 +1,72 @@
+package com.cryptowallet.security;
+
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+// Выпуск и проверка JWT: попадание в кэш проверенных токенов против полного разбора с HMAC
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-benchmark-secret-key-benchmark-secret-key!!";
+    // Больше, чем успевает удержать кэш нулевого размера, — каждый verify проходит полный разбор
+    private static final int UNCACHED_TOKENS = 1024;
+
+    private JwtUtil cachingJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String token;
+    private String[] uncachedTokens;
+    private int next;
+    private UserDetails principal;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtil = new JwtUtil(SECRET, 10_000);
+        uncachedJwtUtil = new JwtUtil(SECRET, 0);
+        token = cachingJwtUtil.generateTokenForSubject("user-1");
+        uncachedTokens = new String[UNCACHED_TOKENS];
+        for (int i = 0; i < UNCACHED_TOKENS; i++) {
+            uncachedTokens[i] = uncachedJwtUtil.generateTokenForSubject("user-" + i);
+        }
+        principal = User.withUsername("user-1").password("").authorities("USER").build();
+        cachingJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingJwtUtil.generateTokenForSubject("user-1");
+    }
+
+    @Benchmark
+    public Claims verifyCached() {
+        return cachingJwtUtil.verify(token);
+    }
+
+    @Benchmark
+    public Claims verifyUncached() {
+        next = (next + 1) & (UNCACHED_TOKENS - 1);
+        return uncachedJwtUtil.verify(uncachedTokens[next]);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return cachingJwtUtil.validateToken(token, principal);
+    }
+}
@@ -0,0 +1,108 @@
+package com.cryptowallet.service;
+
+import com.cryptowallet.cache.WalletSnapshots;
+import com.cryptowallet.cache.WalletVersions;
+import com.cryptowallet.dto.PortfolioSummaryDTO;
+import com.cryptowallet.dto.WalletDTO;
+import com.cryptowallet.entity.Transaction;
+import com.cryptowallet.ledger.ExactBalances;
+import com.cryptowallet.ledger.HotWallets;
+import com.cryptowallet.ledger.WalletLedger;
+import com.cryptowallet.ledger.WalletStripes;
+import com.cryptowallet.summary.PortfolioSummaries;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+// Сервисы для бенчмарков, собранные так же, как в приложении, но поверх InMemoryRepositories.
+// Конструкторы сервисов вызываются только здесь: новая зависимость меняет один файл, а не каждый бенчмарк
+final class BenchmarkServices {
+
+    private BenchmarkServices() {
+    }
+
+    static TransactionService transactionService(InMemoryRepositories repositories, WalletSnapshots snapshots) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new LocalTransactionManager());
+        ExactBalances exactBalances = new ExactBalances(repositories.walletRepository(),
+                repositories.ledgerRepository(), repositories.stripeRepository(), transactionTemplate);
+        HotWallets hotWallets = new HotWallets(repositories.walletRepository(),
+                new WalletLedger(repositories.ledgerRepository(), exactBalances),
+                new WalletStripes(repositories.stripeRepository()), exactBalances);
+        WalletVersions walletVersions = new SnapshotWalletVersions(snapshots);
+        PortfolioSummaries portfolioSummaries = new NoOpPortfolioSummaries();
+        InternalTransferService internalTransfers = new InternalTransferService(repositories.walletRepository(),
+                repositories.transactionRepository(), hotWallets, walletVersions, portfolioSummaries,
+                transactionTemplate, true);
+        return new TransactionService(repositories.transactionRepository(), repositories.walletRepository(),
+                internalTransfers, hotWallets, walletVersions, portfolioSummaries);
+    }
+
+    // Счётчика версий в Mongo нет: bump, как и в приложении, сбрасывает снимок, а версия не нужна
+    private static final class SnapshotWalletVersions implements WalletVersions {
+        private final WalletSnapshots snapshots;
+
+        SnapshotWalletVersions(WalletSnapshots snapshots) {
+            this.snapshots = snapshots;
+        }
+
+        @Override
+        public long version(String userId) {
+            return 0;
+        }
+
+        @Override
+        public void bump(String userId) {
+            snapshots.invalidate(userId);
+        }
+    }
+
+    // Сводка портфеля в бенчмарке не читается, приращения пропускаются
+    private static final class NoOpPortfolioSummaries implements PortfolioSummaries {
+
+        @Override
+        public PortfolioSummaryDTO get(String userId, List<WalletDTO> wallets) {
+            return new PortfolioSummaryDTO(Map.of(), 0, null, Map.of(), Map.of());
+        }
+
+        @Override
+        public void sending(String userId) {
+        }
+
+        @Override
+        public void sent(String userId, List<Transaction> recorded) {
+        }
+
+        @Override
+        public void notSent(String userId) {
+        }
+
+        @Override
+        public void received(String userId, Transaction receive) {
+        }
+    }
+
+    // Транзакций в памяти нет: менеджер только ведёт границы, чтобы TransactionTemplate работал как обычно
+    private static final class LocalTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
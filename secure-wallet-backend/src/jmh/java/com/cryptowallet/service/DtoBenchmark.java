@@ -0,0 +1,100 @@
+package com.cryptowallet.service;
+
+import com.cryptowallet.dto.TransactionDTO;
+import com.cryptowallet.dto.WalletDTO;
+import com.cryptowallet.entity.Transaction;
+import com.cryptowallet.entity.Wallet;
+import com.cryptowallet.money.Money;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Конвертация сущностей в DTO и сериализация списков DTO — то, что делает каждый ответ со списком
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoBenchmark {
+
+    // Размер страницы истории по умолчанию и максимальный
+    @Param({"50", "200"})
+    public int size;
+
+    private List<Wallet> wallets;
+    private List<Transaction> transactions;
+    private List<WalletDTO> walletDtos;
+    private List<TransactionDTO> transactionDtos;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        wallets = new ArrayList<>(size);
+        transactions = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            wallets.add(WalletService.buildWallet("user-1", "Wallet " + i, "Bitcoin", "BTC",
+                    Money.parse("1234.56789")));
+            transactions.add(Transaction.builder()
+                    .id("tx-" + i)
+                    .walletId("wallet-" + i)
+                    .userId("user-1")
+                    .type("send")
+                    .amount(Money.ofMinor(125L * i, 4))
+                    .toAddress("0x" + Integer.toHexString(i * 7919))
+                    .status("completed")
+                    .timestamp(now.minusSeconds(i))
+                    .currency("BTC")
+                    .build());
+        }
+        walletDtos = convertWallets();
+        transactionDtos = convertTransactions();
+        // Те же настройки, что Spring Boot применяет к ObjectMapper контроллеров
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public List<WalletDTO> convertWallets() {
+        List<WalletDTO> result = new ArrayList<>(wallets.size());
+        for (Wallet wallet : wallets) {
+            result.add(WalletService.convertToDTO(wallet));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<TransactionDTO> convertTransactions() {
+        List<TransactionDTO> result = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            result.add(TransactionService.convertToDTO(transaction));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public byte[] serializeWallets() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(walletDtos);
+    }
+
+    @Benchmark
+    public byte[] serializeTransactions() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(transactionDtos);
+    }
+}
@@ -0,0 +1,108 @@
+package com.cryptowallet.service;
+
+import com.cryptowallet.entity.Transaction;
+import com.cryptowallet.entity.Wallet;
+import com.cryptowallet.money.Money;
+import com.cryptowallet.repository.LedgerRepository;
+import com.cryptowallet.repository.TransactionRepository;
+import com.cryptowallet.repository.WalletRepository;
+import com.cryptowallet.repository.WalletStripeRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Репозитории в памяти вместо Mongo: бенчмарк меряет собственную работу сервиса, а не сеть и диск.
+// Реализованы только методы, которые вызывает sendTransaction; остальные бросают UnsupportedOperationException.
+// Сквозная задержка с настоящей базой — задача нагрузочного прогона, а не JMH.
+final class InMemoryRepositories {
+
+    private final Map<String, Wallet> wallets = new ConcurrentHashMap<>();
+    private final LongAdder savedTransactions = new LongAdder();
+
+    void putWallet(Wallet wallet) {
+        wallets.put(wallet.getId(), wallet);
+    }
+
+    long savedTransactions() {
+        return savedTransactions.sum();
+    }
+
+    WalletRepository walletRepository() {
+        return proxy(WalletRepository.class, (method, args) -> switch (method) {
+            case "debitIfSufficient" -> debitIfSufficient((String) args[0], (String) args[1], (Money) args[2]);
+            case "findById" -> Optional.ofNullable(wallets.get((String) args[0])).map(InMemoryRepositories::copy);
+            case "findByAddress" -> Optional.empty();
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    TransactionRepository transactionRepository() {
+        return proxy(TransactionRepository.class, (method, args) -> switch (method) {
+            case "save" -> {
+                // Как и Mongo, сохранённую запись не держим в памяти — иначе бенчмарк упрётся в GC
+                savedTransactions.increment();
+                yield (Transaction) args[0];
+            }
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    // Журнал и полосы нужны только «горячим» кошелькам, а в бенчмарке все кошельки обычные
+    LedgerRepository ledgerRepository() {
+        return proxy(LedgerRepository.class, (method, args) -> {
+            throw new UnsupportedOperationException(method);
+        });
+    }
+
+    WalletStripeRepository stripeRepository() {
+        return proxy(WalletStripeRepository.class, (method, args) -> {
+            throw new UnsupportedOperationException(method);
+        });
+    }
+
+    // Тот же контракт, что у findAndModify с фильтром balance >= amount: атомарно по документу
+    private Optional<Wallet> debitIfSufficient(String walletId, String userId, Money amount) {
+        Wallet[] debited = new Wallet[1];
+        wallets.computeIfPresent(walletId, (id, wallet) -> {
+            if (userId.equals(wallet.getUserId()) && wallet.getBalance().compareTo(amount) >= 0) {
+                wallet.setBalance(wallet.getBalance().subtract(amount));
+                debited[0] = copy(wallet);
+            }
+            return wallet;
+        });
+        return Optional.ofNullable(debited[0]);
+    }
+
+    // Драйвер каждый раз материализует новый объект из документа
+    private static Wallet copy(Wallet wallet) {
+        return Wallet.builder()
+                .id(wallet.getId())
+                .userId(wallet.getUserId())
+                .name(wallet.getName())
+                .currency(wallet.getCurrency())
+                .symbol(wallet.getSymbol())
+                .balance(wallet.getBalance())
+                .address(wallet.getAddress())
+                .createdAt(wallet.getCreatedAt())
+                .updatedAt(wallet.getUpdatedAt())
+                .build();
+    }
+
+    private interface Handler {
+        Object handle(String method, Object[] args);
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        Object instance = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (self, method, args) -> switch (method.getName()) {
+                    case "toString" -> "InMemory" + type.getSimpleName();
+                    case "hashCode" -> System.identityHashCode(self);
+                    case "equals" -> self == args[0];
+                    default -> handler.handle(method.getName(), args);
+                });
+        return type.cast(instance);
+    }
+}
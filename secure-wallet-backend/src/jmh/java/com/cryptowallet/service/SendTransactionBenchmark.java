@@ -0,0 +1,86 @@
+package com.cryptowallet.service;
+
+import com.cryptowallet.cache.LocalWalletSnapshotStore;
+import com.cryptowallet.cache.WalletSnapshots;
+import com.cryptowallet.dto.SendTransactionRequest;
+import com.cryptowallet.dto.TransactionDTO;
+import com.cryptowallet.entity.Wallet;
+import com.cryptowallet.money.Money;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// sendTransaction поверх репозиториев в памяти: один «горячий» кошелёк под конкуренцией
+// против собственного кошелька на поток
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class SendTransactionBenchmark {
+
+    private static final String USER_ID = "user-1";
+    // Баланс с запасом: за прогон списания не должны упереться в «Insufficient balance»
+    private static final Money BALANCE = Money.ofMinor(1_000_000_000, 0);
+    private static final Money AMOUNT = Money.ofMinor(1, 4);
+
+    @State(Scope.Benchmark)
+    public static class Service {
+        InMemoryRepositories repositories;
+        TransactionService transactionService;
+        SendTransactionRequest sharedWalletRequest;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            repositories = new InMemoryRepositories();
+            // Кэш снимков как в приложении: каждый send сбрасывает снимок отправителя
+            Duration ttl = Duration.ofSeconds(30);
+            WalletSnapshots snapshots = new WalletSnapshots(Optional.of(new LocalWalletSnapshotStore(10_000, ttl)),
+                    new SimpleMeterRegistry(), ttl);
+            transactionService = BenchmarkServices.transactionService(repositories, snapshots);
+            sharedWalletRequest = new SendTransactionRequest(addWallet(), "0xshared", AMOUNT);
+        }
+
+        String addWallet() {
+            Wallet wallet = WalletService.buildWallet(USER_ID, "Bitcoin Wallet", "Bitcoin", "BTC", BALANCE);
+            repositories.putWallet(wallet);
+            return wallet.getId();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class OwnWallet {
+        SendTransactionRequest request;
+
+        @Setup(Level.Trial)
+        public void setUp(Service service) {
+            request = new SendTransactionRequest(service.addWallet(), "0x" + UUID.randomUUID(), AMOUNT);
+        }
+    }
+
+    @Benchmark
+    public TransactionDTO sendFromSharedWallet(Service service) {
+        return service.transactionService.sendTransaction(USER_ID, service.sharedWalletRequest);
+    }
+
+    @Benchmark
+    public TransactionDTO sendFromOwnWallet(Service service, OwnWallet ownWallet) {
+        return service.transactionService.sendTransaction(USER_ID, ownWallet.request);
+    }
+}
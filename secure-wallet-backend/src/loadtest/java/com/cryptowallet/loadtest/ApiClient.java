@@ -0,0 +1,105 @@
+package com.cryptowallet.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Тонкая обёртка над HTTP API бэкенда: один запрос — один вызов, без повторов.
+// Статус не проверяется здесь — решение «ошибка или нет» принимает вызывающий.
+final class ApiClient {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final HttpClient http;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    HttpResponse<String> register(String username, String password) throws IOException, InterruptedException {
+        return post("/api/auth/register", null, Map.of(
+                "username", username,
+                "email", username + "@loadtest.local",
+                "password", password,
+                "age", 30));
+    }
+
+    HttpResponse<String> login(String username, String password) throws IOException, InterruptedException {
+        return post("/api/auth/login", null, Map.of("username", username, "password", password));
+    }
+
+    HttpResponse<String> createWallet(String token, String name) throws IOException, InterruptedException {
+        return post("/api/wallets/create", token, Map.of("name", name, "currency", "BTC"));
+    }
+
+    HttpResponse<String> wallets(String token) throws IOException, InterruptedException {
+        return get("/api/wallets", token);
+    }
+
+    HttpResponse<String> send(String token, String fromWalletId, String toAddress, double amount)
+            throws IOException, InterruptedException {
+        return post("/api/transactions/send", token, Map.of(
+                "fromWalletId", fromWalletId,
+                "toAddress", toAddress,
+                "amount", amount));
+    }
+
+    HttpResponse<String> history(String token) throws IOException, InterruptedException {
+        return get("/api/transactions/page?limit=50", token);
+    }
+
+    HttpResponse<String> walletHistory(String token, String walletId) throws IOException, InterruptedException {
+        return get("/api/wallets/" + walletId + "/transactions/page?limit=50", token);
+    }
+
+    String jwt(HttpResponse<String> response) throws IOException {
+        return objectMapper.readTree(response.body()).path("jwt").asText(null);
+    }
+
+    List<String> walletIds(HttpResponse<String> response) throws IOException {
+        List<String> ids = new ArrayList<>();
+        for (JsonNode wallet : objectMapper.readTree(response.body())) {
+            ids.add(wallet.path("id").asText());
+        }
+        return ids;
+    }
+
+    private HttpResponse<String> get(String path, String token) throws IOException, InterruptedException {
+        return http.send(request(path, token).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String token, Object body) throws IOException, InterruptedException {
+        HttpRequest request = request(path, token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    static boolean isSuccess(HttpResponse<?> response) {
+        return response.statusCode() >= 200 && response.statusCode() < 300;
+    }
+}
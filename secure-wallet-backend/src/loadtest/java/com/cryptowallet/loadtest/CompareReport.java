@@ -0,0 +1,92 @@
+package com.cryptowallet.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.ToDoubleFunction;
+
+// Сравнение двух прогонов (например, MVC против reactive или до/после изменения) в виде markdown-таблицы:
+// compare <baseline.json> <candidate.json> [--out=report.md]
+final class CompareReport {
+
+    private CompareReport() {
+    }
+
+    static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: compare <baseline.json> <candidate.json> [--out=report.md]");
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        RunReport baseline = objectMapper.readValue(Path.of(args[0]).toFile(), RunReport.class);
+        RunReport candidate = objectMapper.readValue(Path.of(args[1]).toFile(), RunReport.class);
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (PrintStream out = new PrintStream(buffer, true, StandardCharsets.UTF_8)) {
+            printComparison(baseline, candidate, out);
+        }
+        String report = buffer.toString(StandardCharsets.UTF_8);
+        System.out.print(report);
+
+        Path output = args.length > 2 && args[2].startsWith("--out=")
+                ? Path.of(args[2].substring("--out=".length()))
+                : Path.of(args[1]).resolveSibling("compare-" + baseline.label() + "-vs-" + candidate.label() + ".md");
+        Files.writeString(output, report);
+        System.out.printf("Comparison written to %s%n", output);
+    }
+
+    static void printSummary(RunReport report, PrintStream out) {
+        out.printf("%n%s (%s, rate=%d, concurrency=%d, %ds)%n", report.label(), report.mode(),
+                report.rate(), report.concurrency(), report.durationSeconds());
+        out.printf("%-16s %10s %8s %10s %10s %10s %10s %10s%n",
+                "endpoint", "count", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        report.endpoints().forEach((key, summary) -> out.printf("%-16s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                key, summary.count(), summary.errors(), summary.throughput(),
+                summary.p50Ms(), summary.p99Ms(), summary.p999Ms(), summary.maxMs()));
+    }
+
+    private static void printComparison(RunReport baseline, RunReport candidate, PrintStream out) {
+        out.printf("# %s vs %s%n%n", baseline.label(), candidate.label());
+        out.printf("- baseline: %s, rate=%d, concurrency=%d, %ds, started %s%n", baseline.mode(),
+                baseline.rate(), baseline.concurrency(), baseline.durationSeconds(), baseline.startedAt());
+        out.printf("- candidate: %s, rate=%d, concurrency=%d, %ds, started %s%n%n", candidate.mode(),
+                candidate.rate(), candidate.concurrency(), candidate.durationSeconds(), candidate.startedAt());
+        if (!baseline.mode().equals(candidate.mode()) || baseline.rate() != candidate.rate()) {
+            out.println("> Runs used different load models; latency deltas are not directly comparable.");
+            out.println();
+        }
+        out.println("| endpoint | metric | baseline | candidate | delta |");
+        out.println("|---|---|---:|---:|---:|");
+
+        Set<String> keys = new LinkedHashSet<>(baseline.endpoints().keySet());
+        keys.addAll(candidate.endpoints().keySet());
+        for (String key : keys) {
+            RunReport.EndpointSummary before = baseline.endpoints().get(key);
+            RunReport.EndpointSummary after = candidate.endpoints().get(key);
+            if (before == null || after == null) {
+                out.printf("| %s | - | %s | %s | - |%n", key, before == null ? "-" : "present", after == null ? "-" : "present");
+                continue;
+            }
+            row(out, key, "req/s", before, after, RunReport.EndpointSummary::throughput);
+            row(out, key, "errors", before, after, summary -> summary.errors());
+            row(out, key, "p50 ms", before, after, RunReport.EndpointSummary::p50Ms);
+            row(out, key, "p99 ms", before, after, RunReport.EndpointSummary::p99Ms);
+            row(out, key, "p99.9 ms", before, after, RunReport.EndpointSummary::p999Ms);
+            row(out, key, "max ms", before, after, RunReport.EndpointSummary::maxMs);
+        }
+    }
+
+    private static void row(PrintStream out, String key, String metric,
+                            RunReport.EndpointSummary before, RunReport.EndpointSummary after,
+                            ToDoubleFunction<RunReport.EndpointSummary> value) {
+        double a = value.applyAsDouble(before);
+        double b = value.applyAsDouble(after);
+        String delta = a == 0 ? "-" : String.format("%+.1f%%", (b - a) / a * 100);
+        out.printf("| %s | %s | %.2f | %.2f | %s |%n", key, metric, a, b, delta);
+    }
+}
@@ -0,0 +1,85 @@
+package com.cryptowallet.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Гистограмма задержек и счётчик ошибок на каждый эндпоинт. Значения пишутся в микросекундах.
+final class LatencyStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final double MICROS_PER_MS = 1000.0;
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+    LatencyStats() {
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    // Ошибочные ответы тоже попадают в гистограмму: клиент ждал их столько же
+    void record(Operation operation, long latencyNanos, boolean success) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        histograms.get(operation).recordValue(Math.max(micros, 1));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    // Пропускная способность считается только для нагрузочных операций: подготовка идёт вне окна замера
+    Map<String, RunReport.EndpointSummary> summarize(double seconds) {
+        Map<String, RunReport.EndpointSummary> result = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            result.put(operation.key, new RunReport.EndpointSummary(
+                    operation.endpoint,
+                    histogram.getTotalCount(),
+                    errors.get(operation).sum(),
+                    operation.setup ? 0 : histogram.getTotalCount() / seconds,
+                    histogram.getMean() / MICROS_PER_MS,
+                    histogram.getValueAtPercentile(50) / MICROS_PER_MS,
+                    histogram.getValueAtPercentile(90) / MICROS_PER_MS,
+                    histogram.getValueAtPercentile(99) / MICROS_PER_MS,
+                    histogram.getValueAtPercentile(99.9) / MICROS_PER_MS,
+                    histogram.getMaxValue() / MICROS_PER_MS,
+                    encode(histogram)));
+        }
+        return result;
+    }
+
+    // Полное распределение в формате .hgrm (его понимает HdrHistogram plotter)
+    void printPercentileDistributions(PrintStream out) {
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            out.println("# " + operation.key + " " + operation.endpoint);
+            histogram.outputPercentileDistribution(out, MICROS_PER_MS);
+            out.println();
+        }
+    }
+
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        byte[] bytes = new byte[length];
+        buffer.rewind();
+        buffer.get(bytes);
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+}
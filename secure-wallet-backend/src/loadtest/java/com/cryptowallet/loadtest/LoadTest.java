@@ -0,0 +1,290 @@
+package com.cryptowallet.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mongodb.ConnectionString;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+import org.bson.types.Decimal128;
+
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Нагрузочный прогон против запущенного бэкенда:
+// 1) регистрирует пользователей, логинится, создаёт кошельки (задержки этих шагов тоже пишутся);
+// 2) при заданном --mongo-uri пополняет кошельки напрямую в базе — иначе отправки упрутся в нулевой баланс;
+// 3) гоняет смешанную нагрузку (отправка + чтение истории) в открытой или закрытой модели;
+// 4) пишет <label>.json (перцентили + сжатые гистограммы) и <label>.hgrm.
+//
+// В открытой модели (--rate > 0) запросы стартуют по расписанию, а задержка считается от запланированного
+// момента старта, а не от фактического, — очередь внутри генератора не прячет медленные ответы сервера
+// (coordinated omission). Закрытая модель (--rate=0) полезна для оценки предельной пропускной способности.
+public final class LoadTest {
+
+    private static final String PASSWORD = "loadtest-password";
+    private static final BigDecimal FUNDED_BALANCE = new BigDecimal("1000000000");
+    private static final double SEND_AMOUNT = 0.0001;
+    private static final int BUSY_RETRIES = 20;
+
+    private final LoadTestOptions options;
+    private final ApiClient api;
+    private final LatencyStats stats = new LatencyStats();
+    private final Operation[] weightedOperations;
+
+    private LoadTest(LoadTestOptions options) {
+        this.options = options;
+        this.api = new ApiClient(options.baseUrl);
+        this.weightedOperations = weighted(options.mix);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && "compare".equals(args[0])) {
+            CompareReport.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        new LoadTest(LoadTestOptions.parse(args)).run();
+    }
+
+    private void run() throws Exception {
+        String startedAt = Instant.now().toString();
+        System.out.printf("Setting up %d users against %s%n", options.users, options.baseUrl);
+        List<VirtualUser> users = setUp();
+        if (options.mongoUri != null) {
+            fund(users);
+        } else {
+            System.out.println("No --mongo-uri: wallets keep zero balance, sends will be counted as errors");
+        }
+
+        System.out.printf("Running %s load for %ds (+%ds warmup)%n",
+                options.openLoop() ? options.rate + " req/s open-loop" : options.concurrency + " workers closed-loop",
+                options.duration.toSeconds(), options.warmup.toSeconds());
+        if (options.openLoop()) {
+            runOpenLoop(users);
+        } else {
+            runClosedLoop(users);
+        }
+
+        RunReport report = new RunReport(options.label,
+                options.openLoop() ? "open" : "closed",
+                options.rate,
+                options.concurrency,
+                options.users,
+                options.duration.toSeconds(),
+                startedAt,
+                stats.summarize(options.duration.toMillis() / 1000.0));
+        write(report);
+    }
+
+    // ---- подготовка ----
+
+    private List<VirtualUser> setUp() throws Exception {
+        String runId = UUID.randomUUID().toString().substring(0, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(options.concurrency, options.users));
+        try {
+            List<Future<VirtualUser>> futures = new ArrayList<>();
+            for (int i = 0; i < options.users; i++) {
+                String username = "lt-" + runId + "-" + i;
+                futures.add(executor.submit(() -> setUpUser(username)));
+            }
+            List<VirtualUser> users = new ArrayList<>();
+            for (Future<VirtualUser> future : futures) {
+                users.add(future.get());
+            }
+            return users;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private VirtualUser setUpUser(String username) throws Exception {
+        HttpResponse<String> registered = timedWithBusyRetry(Operation.REGISTER, () -> api.register(username, PASSWORD));
+        requireSuccess(registered, "register " + username);
+        HttpResponse<String> loggedIn = timedWithBusyRetry(Operation.LOGIN, () -> api.login(username, PASSWORD));
+        requireSuccess(loggedIn, "login " + username);
+        String token = api.jwt(loggedIn);
+
+        for (int i = 0; i < options.extraWallets; i++) {
+            String name = "Load wallet " + i;
+            requireSuccess(timed(Operation.CREATE_WALLET, () -> api.createWallet(token, name)), "create wallet");
+        }
+        HttpResponse<String> wallets = timed(Operation.LIST_WALLETS_SETUP, () -> api.wallets(token));
+        requireSuccess(wallets, "list wallets");
+        return new VirtualUser(token, api.walletIds(wallets));
+    }
+
+    // Пополнение мимо API: публичного эндпоинта зачисления нет, а без баланса отправки не проходят
+    private void fund(List<VirtualUser> users) {
+        List<String> walletIds = new ArrayList<>();
+        users.forEach(user -> walletIds.addAll(user.walletIds));
+        try (MongoClient client = MongoClients.create(options.mongoUri)) {
+            String database = new ConnectionString(options.mongoUri).getDatabase();
+            long funded = client.getDatabase(database != null ? database : "secure_wallet")
+                    .getCollection("wallets")
+                    .updateMany(Filters.in("_id", walletIds),
+                            Updates.set("balance", new Decimal128(FUNDED_BALANCE)))
+                    .getModifiedCount();
+            System.out.printf("Funded %d wallets%n", funded);
+        }
+    }
+
+    // ---- нагрузка ----
+
+    private void runOpenLoop(List<VirtualUser> users) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(options.concurrency);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup.toNanos();
+        long end = measureFrom + options.duration.toNanos();
+        AtomicInteger inFlight = new AtomicInteger();
+
+        for (long i = 0; ; i++) {
+            long intendedStart = start + i * intervalNanos;
+            if (intendedStart >= end) {
+                break;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = intendedStart >= measureFrom;
+            inFlight.incrementAndGet();
+            executor.execute(() -> {
+                try {
+                    execute(randomUser(users), intendedStart, measured);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+            System.out.printf("Abandoning %d requests still in flight%n", inFlight.get());
+            executor.shutdownNow();
+        }
+    }
+
+    private void runClosedLoop(List<VirtualUser> users) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(options.concurrency);
+        long start = System.nanoTime();
+        long measureFrom = start + options.warmup.toNanos();
+        long end = measureFrom + options.duration.toNanos();
+        for (int i = 0; i < options.concurrency; i++) {
+            executor.execute(() -> {
+                long now;
+                while ((now = System.nanoTime()) < end) {
+                    execute(randomUser(users), now, now >= measureFrom);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(options.warmup.plus(options.duration).toSeconds() + 60, TimeUnit.SECONDS);
+    }
+
+    private void execute(VirtualUser user, long startNanos, boolean measured) {
+        Operation operation = weightedOperations[ThreadLocalRandom.current().nextInt(weightedOperations.length)];
+        String walletId = user.walletIds.get(ThreadLocalRandom.current().nextInt(user.walletIds.size()));
+        boolean success;
+        try {
+            HttpResponse<String> response = switch (operation) {
+                case SEND -> api.send(user.token, walletId, "0xloadtest", SEND_AMOUNT);
+                case HISTORY -> api.history(user.token);
+                case WALLET_HISTORY -> api.walletHistory(user.token, walletId);
+                case WALLETS -> api.wallets(user.token);
+                default -> throw new IllegalStateException("Not a load operation: " + operation);
+            };
+            success = ApiClient.isSuccess(response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            success = false;
+        }
+        if (measured) {
+            stats.record(operation, System.nanoTime() - startNanos, success);
+        }
+    }
+
+    // ---- вспомогательное ----
+
+    private interface Call {
+        HttpResponse<String> call() throws Exception;
+    }
+
+    private HttpResponse<String> timed(Operation operation, Call call) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<String> response = call.call();
+        stats.record(operation, System.nanoTime() - start, ApiClient.isSuccess(response));
+        return response;
+    }
+
+    // Регистрация и вход упираются в пул bcrypt: на 503 ждём Retry-After и пробуем снова
+    private HttpResponse<String> timedWithBusyRetry(Operation operation, Call call) throws Exception {
+        HttpResponse<String> response = timed(operation, call);
+        for (int attempt = 0; response.statusCode() == 503 && attempt < BUSY_RETRIES; attempt++) {
+            long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+            TimeUnit.SECONDS.sleep(retryAfter);
+            response = timed(operation, call);
+        }
+        return response;
+    }
+
+    private static void requireSuccess(HttpResponse<String> response, String step) {
+        if (!ApiClient.isSuccess(response)) {
+            throw new IllegalStateException(step + " failed: HTTP " + response.statusCode() + " " + response.body());
+        }
+    }
+
+    private static VirtualUser randomUser(List<VirtualUser> users) {
+        return users.get(ThreadLocalRandom.current().nextInt(users.size()));
+    }
+
+    private static Operation[] weighted(Map<Operation, Integer> mix) {
+        List<Operation> operations = new ArrayList<>();
+        mix.forEach((operation, weight) -> operations.addAll(Collections.nCopies(weight, operation)));
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("Load mix is empty");
+        }
+        return operations.toArray(new Operation[0]);
+    }
+
+    private void write(RunReport report) throws Exception {
+        Files.createDirectories(options.outputDir);
+        Path json = options.outputDir.resolve(options.label + ".json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(json.toFile(), report);
+        Path hgrm = options.outputDir.resolve(options.label + ".hgrm");
+        try (PrintStream out = new PrintStream(hgrm.toFile())) {
+            stats.printPercentileDistributions(out);
+        }
+        CompareReport.printSummary(report, System.out);
+        System.out.printf("Report written to %s and %s%n", json, hgrm);
+    }
+
+    private static final class VirtualUser {
+        final String token;
+        final List<String> walletIds;
+
+        VirtualUser(String token, List<String> walletIds) {
+            this.token = token;
+            this.walletIds = walletIds;
+        }
+    }
+}
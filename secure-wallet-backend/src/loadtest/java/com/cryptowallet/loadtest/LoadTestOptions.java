@@ -0,0 +1,70 @@
+package com.cryptowallet.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Параметры прогона в виде --key=value; всё, что не задано, берётся по умолчанию
+final class LoadTestOptions {
+
+    final String baseUrl;
+    final int users;
+    final int extraWallets;
+    // 0 — закрытая модель (concurrency потоков шлют запросы без пауз), иначе — фиксированная частота запросов в секунду
+    final int rate;
+    final int concurrency;
+    final Duration warmup;
+    final Duration duration;
+    final Map<Operation, Integer> mix;
+    final String mongoUri;
+    final String label;
+    final Path outputDir;
+
+    private LoadTestOptions(Map<String, String> args) {
+        this.baseUrl = stripTrailingSlash(args.getOrDefault("base-url", "http://localhost:8080"));
+        this.users = Integer.parseInt(args.getOrDefault("users", "50"));
+        this.extraWallets = Integer.parseInt(args.getOrDefault("extra-wallets", "1"));
+        this.rate = Integer.parseInt(args.getOrDefault("rate", "200"));
+        this.concurrency = Integer.parseInt(args.getOrDefault("concurrency", "64"));
+        this.warmup = Duration.ofSeconds(Long.parseLong(args.getOrDefault("warmup", "10")));
+        this.duration = Duration.ofSeconds(Long.parseLong(args.getOrDefault("duration", "60")));
+        this.mix = parseMix(args.getOrDefault("mix", "send=30,history=40,wallet-history=20,wallets=10"));
+        this.mongoUri = args.get("mongo-uri");
+        this.label = args.getOrDefault("label", "run");
+        this.outputDir = Path.of(args.getOrDefault("out", "target/loadtest"));
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return new LoadTestOptions(values);
+    }
+
+    boolean openLoop() {
+        return rate > 0;
+    }
+
+    // send=30,history=40,... — веса операций смешанной нагрузки
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split("=");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Bad mix entry: " + part);
+            }
+            mix.put(Operation.byName(kv[0].trim()), Integer.parseInt(kv[1].trim()));
+        }
+        return mix;
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,32 @@
+package com.cryptowallet.loadtest;
+
+// Эндпоинты, по которым ведётся отдельная гистограмма: шаги подготовки и операции смешанной нагрузки
+enum Operation {
+    REGISTER("register", "POST /api/auth/register", true),
+    LOGIN("login", "POST /api/auth/login", true),
+    CREATE_WALLET("create-wallet", "POST /api/wallets/create", true),
+    LIST_WALLETS_SETUP("wallets-setup", "GET /api/wallets", true),
+    SEND("send", "POST /api/transactions/send", false),
+    HISTORY("history", "GET /api/transactions/page", false),
+    WALLET_HISTORY("wallet-history", "GET /api/wallets/{id}/transactions/page", false),
+    WALLETS("wallets", "GET /api/wallets", false);
+
+    final String key;
+    final String endpoint;
+    final boolean setup;
+
+    Operation(String key, String endpoint, boolean setup) {
+        this.key = key;
+        this.endpoint = endpoint;
+        this.setup = setup;
+    }
+
+    static Operation byName(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+}
@@ -0,0 +1,28 @@
+package com.cryptowallet.loadtest;
+
+import java.util.Map;
+
+// Итог прогона, сохраняемый в JSON. Сжатая гистограмма лежит рядом с перцентилями,
+// чтобы при сравнении можно было пересчитать любые другие квантили.
+record RunReport(String label,
+                 String mode,
+                 int rate,
+                 int concurrency,
+                 int users,
+                 long durationSeconds,
+                 String startedAt,
+                 Map<String, EndpointSummary> endpoints) {
+
+    record EndpointSummary(String endpoint,
+                           long count,
+                           long errors,
+                           double throughput,
+                           double meanMs,
+                           double p50Ms,
+                           double p90Ms,
+                           double p99Ms,
+                           double p999Ms,
+                           double maxMs,
+                           String histogram) {
+    }
+}
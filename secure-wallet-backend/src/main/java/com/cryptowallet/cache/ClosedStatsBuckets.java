@@ -0,0 +1,39 @@
+package com.cryptowallet.cache;
+
+import com.cryptowallet.dto.TransactionStatsDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+// Строки закрытых интервалов /api/transactions/stats по (пользователь, шаг, начало интервала). Новые транзакции
+// получают timestamp «сейчас», поэтому прошедший интервал уже не меняется; TTL — на случай правок истории миграциями
+@Component
+public class ClosedStatsBuckets {
+
+    private final Cache<String, List<TransactionStatsDTO.Bucket>> cache;
+
+    public ClosedStatsBuckets(@Value("${transactions.stats.cache.max-size:100000}") long maxSize,
+                              @Value("${transactions.stats.cache.ttl:1h}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    // null — интервала нет в кэше; пустой список — интервал без транзакций
+    public List<TransactionStatsDTO.Bucket> get(String userId, String interval, String start) {
+        return cache.getIfPresent(key(userId, interval, start));
+    }
+
+    public void put(String userId, String interval, String start, List<TransactionStatsDTO.Bucket> rows) {
+        cache.put(key(userId, interval, start), List.copyOf(rows));
+    }
+
+    private static String key(String userId, String interval, String start) {
+        return userId + '|' + interval + '|' + start;
+    }
+}
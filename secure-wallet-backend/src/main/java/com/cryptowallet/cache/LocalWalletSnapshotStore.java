@@ -0,0 +1,40 @@
+package com.cryptowallet.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Снимки в памяти процесса: ограничены по числу пользователей и по времени жизни
+@Component
+@ConditionalOnProperty(name = "wallets.cache.backend", havingValue = "local", matchIfMissing = true)
+public class LocalWalletSnapshotStore implements WalletSnapshotStore {
+
+    private final Cache<String, WalletSnapshot> cache;
+
+    public LocalWalletSnapshotStore(@Value("${wallets.cache.max-size:10000}") long maxSize,
+                                    @Value("${wallets.cache.ttl:30s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Override
+    public WalletSnapshot get(String userId) {
+        return cache.getIfPresent(userId);
+    }
+
+    @Override
+    public void put(String userId, WalletSnapshot snapshot) {
+        cache.put(userId, snapshot);
+    }
+
+    @Override
+    public void invalidate(String userId) {
+        cache.invalidate(userId);
+    }
+}
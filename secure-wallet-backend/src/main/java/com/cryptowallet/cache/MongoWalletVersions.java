@@ -0,0 +1,56 @@
+package com.cryptowallet.cache;
+
+import com.cryptowallet.entity.WalletVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+// Счётчик версий в коллекции wallet_versions: If-None-Match сверяется одним чтением документа по _id,
+// без загрузки и сериализации кошельков и истории. В Mongo — чтобы все экземпляры сервиса видели одну версию
+@Service
+public class MongoWalletVersions implements WalletVersions {
+    private static final Logger log = LoggerFactory.getLogger(MongoWalletVersions.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final WalletSnapshots snapshots;
+
+    public MongoWalletVersions(MongoTemplate mongoTemplate, WalletSnapshots snapshots) {
+        this.mongoTemplate = mongoTemplate;
+        this.snapshots = snapshots;
+    }
+
+    @Override
+    public long version(String userId) {
+        return version(mongoTemplate.findOne(byUser(userId), WalletVersion.class));
+    }
+
+    @Override
+    public void bump(String userId) {
+        if (userId == null) {
+            return;
+        }
+        try {
+            mongoTemplate.upsert(byUser(userId), increment(), WalletVersion.class);
+        } catch (RuntimeException e) {
+            log.warn("Wallet version of user {} not bumped: {}", userId, e.getMessage());
+        } finally {
+            snapshots.invalidate(userId);
+        }
+    }
+
+    static Query byUser(String userId) {
+        return Query.query(Criteria.where("_id").is(userId));
+    }
+
+    static Update increment() {
+        return new Update().inc("version", 1);
+    }
+
+    static long version(WalletVersion version) {
+        return version != null ? version.getVersion() : 0;
+    }
+}
@@ -0,0 +1,44 @@
+package com.cryptowallet.cache;
+
+import com.cryptowallet.entity.WalletVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+// Реактивный вариант MongoWalletVersions
+@Service
+@Profile("reactive")
+public class ReactiveWalletVersions {
+    private static final Logger log = LoggerFactory.getLogger(ReactiveWalletVersions.class);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final WalletSnapshots snapshots;
+
+    public ReactiveWalletVersions(ReactiveMongoTemplate mongoTemplate, WalletSnapshots snapshots) {
+        this.mongoTemplate = mongoTemplate;
+        this.snapshots = snapshots;
+    }
+
+    public Mono<Long> version(String userId) {
+        return mongoTemplate.findOne(MongoWalletVersions.byUser(userId), WalletVersion.class)
+                .map(MongoWalletVersions::version)
+                .defaultIfEmpty(0L);
+    }
+
+    public Mono<String> etag(String userId) {
+        return version(userId).map(version -> WalletVersions.etag(userId, version));
+    }
+
+    public Mono<Void> bump(String userId) {
+        if (userId == null) {
+            return Mono.empty();
+        }
+        return mongoTemplate.upsert(MongoWalletVersions.byUser(userId), MongoWalletVersions.increment(), WalletVersion.class)
+                .doOnError(e -> log.warn("Wallet version of user {} not bumped: {}", userId, e.getMessage()))
+                .onErrorResume(e -> Mono.empty())
+                .then(Mono.fromRunnable(() -> snapshots.invalidate(userId)));
+    }
+}
@@ -0,0 +1,10 @@
+package com.cryptowallet.cache;
+
+import com.cryptowallet.dto.WalletDTO;
+
+import java.util.List;
+
+// Список кошельков пользователя и версия (WalletVersions), прочитанная до его загрузки: снимок верен
+// как минимум на эту версию
+public record WalletSnapshot(long version, List<WalletDTO> wallets) {
+}
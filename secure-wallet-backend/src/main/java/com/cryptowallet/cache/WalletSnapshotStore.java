@@ -0,0 +1,14 @@
+package com.cryptowallet.cache;
+
+// Хранилище снимков кошельков пользователя для WalletSnapshots. По умолчанию — память процесса
+// (LocalWalletSnapshotStore, wallets.cache.backend=local); общее для нескольких экземпляров хранилище
+// (Redis и т.п.) подключается своим бином с другим значением backend. Без бина кэш выключен
+public interface WalletSnapshotStore {
+
+    // null — снимка нет или он истёк
+    WalletSnapshot get(String userId);
+
+    void put(String userId, WalletSnapshot snapshot);
+
+    void invalidate(String userId);
+}
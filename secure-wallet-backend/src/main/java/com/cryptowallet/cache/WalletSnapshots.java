@@ -0,0 +1,111 @@
+package com.cryptowallet.cache;
+
+import com.cryptowallet.dto.WalletDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Read-through кэш списка кошельков пользователя (GET /api/wallets, /api/wallets/{id}): в установившемся режиме
+// дашборд не ходит в Mongo. Сбрасывается через WalletVersions.bump после каждого изменения кошельков пользователя
+// (создание, send, send-batch, зачисление внутренним переводом) и по TTL.
+// Снимок помечен версией WalletVersions, прочитанной до загрузки, и отдаётся только запросу с версией не новее:
+// так снимок, не сброшенный другим экземпляром (или сброшенный чуть позже записи версии), не уйдёт под свежим ETag.
+// Снимок, прочитанный до сброса, обратно не кладётся: сброс меняет поколение пользователя, а запись его сверяет.
+// wallet.snapshot.cache{result=hit|miss}
+@Component
+public class WalletSnapshots {
+
+    private final WalletSnapshotStore store;
+    // Поколение — номер последнего сброса; живёт не меньше снимка, иначе сверять было бы не с чем
+    private final Cache<String, Long> generations;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public WalletSnapshots(Optional<WalletSnapshotStore> store,
+                           MeterRegistry meterRegistry,
+                           @Value("${wallets.cache.ttl:30s}") Duration ttl) {
+        this.store = store.orElse(null);
+        this.generations = Caffeine.newBuilder().expireAfterWrite(ttl.multipliedBy(2)).build();
+        this.hits = counter(meterRegistry, "hit");
+        this.misses = counter(meterRegistry, "miss");
+    }
+
+    // version — версия кошельков, уже прочитанная запросом (она же в его ETag); loader читает кошельки после неё
+    public List<WalletDTO> get(String userId, long version, Supplier<List<WalletDTO>> loader) {
+        if (store == null) {
+            return loader.get();
+        }
+        List<WalletDTO> cached = cached(userId, version);
+        if (cached != null) {
+            return cached;
+        }
+        Long generation = generations.getIfPresent(userId);
+        List<WalletDTO> loaded = List.copyOf(loader.get());
+        put(userId, generation, new WalletSnapshot(version, loaded));
+        return loaded;
+    }
+
+    public Mono<List<WalletDTO>> get(String userId, long version, Mono<List<WalletDTO>> loader) {
+        if (store == null) {
+            return loader;
+        }
+        return Mono.defer(() -> {
+            List<WalletDTO> cached = cached(userId, version);
+            if (cached != null) {
+                return Mono.just(cached);
+            }
+            Long generation = generations.getIfPresent(userId);
+            return loader.map(List::copyOf)
+                    .doOnNext(loaded -> put(userId, generation, new WalletSnapshot(version, loaded)));
+        });
+    }
+
+    public void invalidate(String userId) {
+        if (store == null || userId == null) {
+            return;
+        }
+        generations.put(userId, sequence.incrementAndGet());
+        store.invalidate(userId);
+    }
+
+    // Снимок старше версии запроса — промах: его место займёт загруженный заново
+    private List<WalletDTO> cached(String userId, long version) {
+        WalletSnapshot snapshot = store.get(userId);
+        if (snapshot != null && snapshot.version() >= version) {
+            hits.increment();
+            return snapshot.wallets();
+        }
+        misses.increment();
+        return null;
+    }
+
+    // Сброс мог проскочить между сверкой и записью — тогда убираем только что записанное
+    private void put(String userId, Long generation, WalletSnapshot snapshot) {
+        if (!Objects.equals(generation, generations.getIfPresent(userId))) {
+            return;
+        }
+        store.put(userId, snapshot);
+        if (!Objects.equals(generation, generations.getIfPresent(userId))) {
+            store.invalidate(userId);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("wallet.snapshot.cache")
+                .description("Wallet snapshot cache lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
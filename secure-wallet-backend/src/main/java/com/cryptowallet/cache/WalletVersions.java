@@ -0,0 +1,20 @@
+package com.cryptowallet.cache;
+
+// Версия кошельков пользователя для условных GET: ETag ответов /api/wallets и /api/transactions — userId и номер
+// версии. bump — единая точка «кошельки пользователя изменились»: заодно сбрасывает снимок WalletSnapshots
+public interface WalletVersions {
+
+    long version(String userId);
+
+    default String etag(String userId) {
+        return etag(userId, version(userId));
+    }
+
+    // Вызывается после записи: деньги уже списаны, поэтому сбой счётчика не валит запрос, а только логируется
+    void bump(String userId);
+
+    // Сильный ETag; userId в нём — чтобы версии разных пользователей (у новых у всех 0) не совпадали
+    static String etag(String userId, long version) {
+        return "\"" + userId + "." + version + "\"";
+    }
+}
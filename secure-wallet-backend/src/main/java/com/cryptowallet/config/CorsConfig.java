@@ -2,10 +2,12 @@
 package com.cryptowallet.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@Profile("!reactive")
 public class CorsConfig implements WebMvcConfigurer {
     @Override
     public void addCorsMappings(CorsRegistry registry) {
@@ -13,7 +15,7 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowedOrigins("*")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
         .allowedHeaders("*")
-        .exposedHeaders("X-Log-Message")
+        .exposedHeaders("X-Log-Message", "X-Request-Id", "Idempotent-Replayed", "ETag")
                 .maxAge(3600);
     }
 }
\ No newline at end of file
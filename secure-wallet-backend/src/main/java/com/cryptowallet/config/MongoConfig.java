@@ -1,9 +1,52 @@
 package com.cryptowallet.config;
 
+import com.cryptowallet.money.MoneyConverters;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.ReactiveMongoTransactionManager;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableMongoAuditing
 public class MongoConfig {
+
+    // Размер пула соединений — предел параллельных запросов к Mongo; при виртуальных потоках его стоит поднять
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoPoolCustomizer(
+            @Value("${mongo.pool.max-size:100}") int maxSize,
+            @Value("${mongo.pool.max-wait:2m}") Duration maxWait) {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .maxWaitTime(maxWait.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    // Суммы (Money) пишутся в Decimal128; общий бин для блокирующего и реактивного MongoTemplate
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(MoneyConverters.all());
+    }
+
+    // Транзакции Mongo для внутренних переводов (нужен replica set). TransactionTemplate и TransactionalOperator
+    // поверх этих менеджеров создаёт автоконфигурация Spring Boot. Блокирующий менеджер нужен в обоих профилях:
+    // TransactionService поднимается и под reactive
+    @Bean
+    public MongoTransactionManager mongoTransactionManager(MongoDatabaseFactory databaseFactory) {
+        return new MongoTransactionManager(databaseFactory);
+    }
+
+    @Bean
+    @Profile("reactive")
+    public ReactiveMongoTransactionManager reactiveMongoTransactionManager(ReactiveMongoDatabaseFactory databaseFactory) {
+        return new ReactiveMongoTransactionManager(databaseFactory);
+    }
 }
@@ -0,0 +1,11 @@
+package com.cryptowallet.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Фоновые задачи (@Scheduled) идут на общем TaskScheduler из spring.task.scheduling: запускаются вместе
+// с контекстом и прерываются при его остановке
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,54 @@
+package com.cryptowallet.controller;
+
+import com.cryptowallet.dto.LoginRequest;
+import com.cryptowallet.logging.RequestIds;
+import com.cryptowallet.payload.request.RegisterRequest;
+import com.cryptowallet.service.AuthService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.function.Supplier;
+
+// /api/auth в профиле reactive. Регистрация и вход по природе блокирующие (bcrypt + Mongo), поэтому
+// выполняются на boundedElastic; ответы строит тот же AuthResponses, что и в AuthController, — коды и заголовки
+// совпадают с сервлетным стеком.
+@Component
+@Profile("reactive")
+public class AuthHandler {
+
+    private final AuthService authService;
+
+    public AuthHandler(AuthService authService) {
+        this.authService = authService;
+    }
+
+    public Mono<ServerResponse> register(ServerRequest request) {
+        return request.bodyToMono(RegisterRequest.class)
+                .flatMap(body -> offload(request, () -> AuthResponses.register(authService, body)));
+    }
+
+    public Mono<ServerResponse> login(ServerRequest request) {
+        return request.bodyToMono(LoginRequest.class)
+                .flatMap(body -> offload(request, () -> AuthResponses.login(authService, body)));
+    }
+
+    // Логи регистрации/входа пишутся на потоке boundedElastic — переносим туда идентификаторы запроса
+    private Mono<ServerResponse> offload(ServerRequest request, Supplier<ResponseEntity<?>> call) {
+        RequestIds ids = request.exchange().getAttribute(RequestIds.EXCHANGE_ATTRIBUTE);
+        Supplier<ResponseEntity<?>> traced = ids != null ? () -> ids.withMdc(call) : call;
+        return Mono.fromSupplier(traced)
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(AuthHandler::toServerResponse);
+    }
+
+    private static Mono<ServerResponse> toServerResponse(ResponseEntity<?> entity) {
+        ServerResponse.BodyBuilder builder = ServerResponse.status(entity.getStatusCode())
+                .headers(headers -> headers.addAll(entity.getHeaders()));
+        return entity.getBody() != null ? builder.bodyValue(entity.getBody()) : builder.build();
+    }
+}
@@ -0,0 +1,82 @@
+package com.cryptowallet.controller;
+
+import com.cryptowallet.dto.LoginRequest;
+import com.cryptowallet.exception.BadCredentialsException;
+import com.cryptowallet.exception.EmailAlreadyExistsException;
+import com.cryptowallet.exception.HashingCapacityExceededException;
+import com.cryptowallet.exception.UserNotFoundException;
+import com.cryptowallet.exception.UsernameAlreadyExistsException;
+import com.cryptowallet.payload.request.RegisterRequest;
+import com.cryptowallet.payload.response.AuthResponse;
+import com.cryptowallet.service.AuthService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+// Ответы регистрации и входа (коды, X-Log-Message, Retry-After), общие для AuthController и AuthHandler
+final class AuthResponses {
+    private static final Logger logger = LoggerFactory.getLogger(AuthResponses.class);
+    // Текст исключения остаётся в логе; клиенту — постоянное сообщение, связь с логом даёт X-Request-Id
+    private static final String UNEXPECTED_ERROR = "An unexpected error occurred";
+
+    private AuthResponses() {
+    }
+
+    static ResponseEntity<?> register(AuthService authService, RegisterRequest registerRequest) {
+        try {
+            AuthResponse authResponse = authService.registerUser(registerRequest);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .header("X-Log-Message", "Registration successful")
+                    .body(authResponse); // Возвращаем 201 Created при успешной регистрации
+        } catch (HashingCapacityExceededException e) {
+            logger.warn("Register endpoint: hashing pool saturated username={}", registerRequest.getUsername());
+            return busy(e);
+        } catch (UsernameAlreadyExistsException | EmailAlreadyExistsException e) {
+            // Причина уже записана в лог AuthService
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header("X-Log-Message", e.getMessage())
+                    .body(e.getMessage()); // 409 Conflict для существующего username/email
+        } catch (Exception e) {
+            // Общий обработчик для других неожиданных ошибок
+            logger.error("Register endpoint: unexpected error username={} err={}", registerRequest.getUsername(), e.getMessage(), e);
+            return unexpected();
+        }
+    }
+
+    static ResponseEntity<?> login(AuthService authService, LoginRequest loginRequest) {
+        try {
+            AuthResponse authResponse = authService.loginUser(loginRequest);
+            return ResponseEntity.ok()
+                    .header("X-Log-Message", "Login successful")
+                    .body(authResponse); // 200 OK при успешном входе
+        } catch (HashingCapacityExceededException e) {
+            logger.warn("Login endpoint: hashing pool saturated username={}", loginRequest.getUsername());
+            return busy(e);
+        } catch (UserNotFoundException | BadCredentialsException e) {
+            // Причина уже записана в лог AuthService
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .header("X-Log-Message", e.getMessage())
+                    .body(e.getMessage()); // 401 Unauthorized для неверных учетных данных
+        } catch (Exception e) {
+            // Общий обработчик для других неожиданных ошибок
+            logger.error("Login endpoint: unexpected error username={} err={}", loginRequest.getUsername(), e.getMessage(), e);
+            return unexpected();
+        }
+    }
+
+    // 503 + Retry-After: пул хэширования переполнен, клиенту стоит повторить запрос позже
+    private static ResponseEntity<?> busy(HashingCapacityExceededException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .header("X-Log-Message", e.getMessage())
+                .body(e.getMessage());
+    }
+
+    private static ResponseEntity<?> unexpected() {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .header("X-Log-Message", UNEXPECTED_ERROR)
+                .body(UNEXPECTED_ERROR);
+    }
+}
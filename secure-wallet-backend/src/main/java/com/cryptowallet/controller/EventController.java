@@ -0,0 +1,27 @@
+package com.cryptowallet.controller;
+
+import com.cryptowallet.events.UserEvents;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+// Push-канал вместо опроса /api/wallets и /api/transactions: события wallet (WalletDTO) и transaction (TransactionDTO)
+@RestController
+@RequestMapping("/api/events")
+@CrossOrigin(origins = "*")
+@Profile("!reactive")
+public class EventController {
+    private final UserEvents userEvents;
+
+    public EventController(UserEvents userEvents) {
+        this.userEvents = userEvents;
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> events(Authentication authentication) {
+        return userEvents.subscribe(authentication.getName());
+    }
+}
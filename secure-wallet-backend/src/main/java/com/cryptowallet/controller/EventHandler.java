@@ -0,0 +1,31 @@
+package com.cryptowallet.controller;
+
+import com.cryptowallet.events.UserEvents;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+// /api/events в профиле reactive — функциональный аналог EventController
+@Component
+@Profile("reactive")
+public class EventHandler {
+    private static final ParameterizedTypeReference<ServerSentEvent<Object>> EVENT = new ParameterizedTypeReference<>() {
+    };
+
+    private final UserEvents userEvents;
+
+    public EventHandler(UserEvents userEvents) {
+        this.userEvents = userEvents;
+    }
+
+    public Mono<ServerResponse> events(ServerRequest request) {
+        return ReactiveRoutes.userId(request).flatMap(userId -> ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(userEvents.subscribe(userId), EVENT));
+    }
+}
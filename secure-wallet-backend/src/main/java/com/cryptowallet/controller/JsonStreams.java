@@ -0,0 +1,55 @@
+package com.cryptowallet.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Пишет элементы из Stream прямо в ответ, не собирая их в список: память на запрос не зависит от объёма истории
+final class JsonStreams {
+    private static final int FLUSH_EVERY = 100;
+
+    private JsonStreams() {
+    }
+
+    // Обычный JSON-массив — совместим с клиентами, ожидающими List
+    static StreamingResponseBody jsonArray(Stream<?> items, ObjectMapper objectMapper) {
+        return out -> {
+            try (items) {
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+                generator.writeStartArray();
+                write(items, generator, false);
+                generator.writeEndArray();
+                generator.flush();
+            }
+        };
+    }
+
+    // NDJSON: один объект на строку
+    static StreamingResponseBody ndjson(Stream<?> items, ObjectMapper objectMapper) {
+        return out -> {
+            try (items) {
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+                generator.setRootValueSeparator(null);
+                write(items, generator, true);
+                generator.flush();
+            }
+        };
+    }
+
+    private static void write(Stream<?> items, JsonGenerator generator, boolean newlineDelimited) throws IOException {
+        Iterator<?> iterator = items.iterator();
+        int written = 0;
+        while (iterator.hasNext()) {
+            generator.writeObject(iterator.next());
+            if (newlineDelimited) {
+                generator.writeRaw('\n');
+            }
+            if (++written % FLUSH_EVERY == 0) {
+                generator.flush();
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.cryptowallet.controller;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+import java.util.function.Function;
+
+// Функциональные маршруты WebFlux (профиль reactive); пути и ответы совпадают с сервлетными контроллерами
+@Configuration
+@Profile("reactive")
+public class ReactiveRoutes {
+
+    private static final int DEFAULT_LIMIT = 50;
+
+    @Bean
+    public RouterFunction<ServerResponse> apiRoutes(AuthHandler auth, WalletHandler wallets, TransactionHandler transactions,
+                                               EventHandler events) {
+        return RouterFunctions.route()
+                .POST("/api/auth/register", auth::register)
+                .POST("/api/auth/login", auth::login)
+                .GET("/api/wallets", wallets::getWallets)
+                .POST("/api/wallets/create", wallets::createWallet)
+                .GET("/api/wallets/summary", wallets::getSummary)
+                .GET("/api/wallets/{id}", wallets::getWallet)
+                .GET("/api/wallets/{id}/transactions", wallets::getWalletTransactions)
+                .GET("/api/wallets/{id}/transactions/page", wallets::getWalletTransactionsPage)
+                .GET("/api/wallets/{id}/transactions/stream", wallets::streamWalletTransactions)
+                .GET("/api/transactions", transactions::getTransactions)
+                .GET("/api/transactions/page", transactions::getTransactionsPage)
+                .GET("/api/transactions/stream", transactions::streamTransactions)
+                .GET("/api/transactions/stats", transactions::getStats)
+                .POST("/api/transactions/send", transactions::sendTransaction)
+                .POST("/api/transactions/send-batch", transactions::sendBatch)
+                .GET("/api/events", events::events)
+                .build();
+    }
+
+    // Как и Authentication.getName() в контроллерах: имя принципала — userId
+    static Mono<String> userId(ServerRequest request) {
+        return request.principal().map(Principal::getName);
+    }
+
+    // Условный GET: при совпавшем If-None-Match — 304, иначе ответ строится с этим ETag
+    static Mono<ServerResponse> conditional(ServerRequest request, Mono<String> etag,
+                                            Function<String, Mono<ServerResponse>> response) {
+        return etag.flatMap(tag -> request.checkNotModified(tag)
+                .switchIfEmpty(Mono.defer(() -> response.apply(tag))));
+    }
+
+    static int limit(ServerRequest request) {
+        try {
+            return request.queryParam("limit").map(Integer::parseInt).orElse(DEFAULT_LIMIT);
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("Invalid limit");
+        }
+    }
+}
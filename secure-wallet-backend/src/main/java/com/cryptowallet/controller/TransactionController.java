@@ -1,36 +1,122 @@
 package com.cryptowallet.controller;
 
+import com.cryptowallet.cache.WalletVersions;
 import com.cryptowallet.dto.*;
+import com.cryptowallet.idempotency.IdempotencyKeys;
+import com.cryptowallet.idempotency.IdempotencyService;
+import com.cryptowallet.idempotency.IdempotentResult;
 import com.cryptowallet.service.TransactionService;
+import com.cryptowallet.service.TransactionStatsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.security.core.Authentication;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/transactions")
 @CrossOrigin(origins = "*")
+@Profile("!reactive")
 public class TransactionController {
     private final TransactionService transactionService;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyService idempotencyService;
+    private final WalletVersions walletVersions;
+    private final TransactionStatsService statsService;
 
     // Явный конструктор для корректной инициализации (вместо Lombok)
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService, ObjectMapper objectMapper,
+                                 IdempotencyService idempotencyService, WalletVersions walletVersions,
+                                 TransactionStatsService statsService) {
         this.transactionService = transactionService;
+        this.objectMapper = objectMapper;
+        this.idempotencyService = idempotencyService;
+        this.walletVersions = walletVersions;
+        this.statsService = statsService;
     }
 
+    // Полная история тем же JSON-массивом, но потоком из курсора Mongo
     @GetMapping
-    public ResponseEntity<List<TransactionDTO>> getTransactions(Authentication authentication) {
+    public ResponseEntity<StreamingResponseBody> getTransactions(Authentication authentication, WebRequest webRequest) {
         String userId = authentication.getName();
-        return ResponseEntity.ok(transactionService.getUserTransactions(userId));
+        String etag = walletVersions.etag(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(JsonStreams.jsonArray(transactionService.streamUserTransactions(userId), objectMapper));
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<TransactionPageDTO> getTransactionsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            Authentication authentication,
+            WebRequest webRequest) {
+        String userId = authentication.getName();
+        String etag = walletVersions.etag(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok(transactionService.getUserTransactionsPage(userId, cursor, limit));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTransactions(Authentication authentication, WebRequest webRequest) {
+        String userId = authentication.getName();
+        String etag = walletVersions.etag(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(JsonStreams.ndjson(transactionService.streamUserTransactions(userId), objectMapper));
+    }
+
+    // interval — hour, day или month; from/to — дата или дата со временем, границы выравниваются по интервалу
+    @GetMapping("/stats")
+    public ResponseEntity<TransactionStatsDTO> getStats(
+            @RequestParam(defaultValue = "day") String interval,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            Authentication authentication) {
+        String userId = authentication.getName();
+        return ResponseEntity.ok(statsService.getStats(userId, interval, from, to));
+    }
+
+    // С заголовком Idempotency-Key повтор запроса возвращает сохранённый ответ и не списывает повторно
     @PostMapping("/send")
     public ResponseEntity<TransactionDTO> sendTransaction(
             @RequestBody SendTransactionRequest request,
+            @RequestHeader(value = IdempotencyKeys.HEADER, required = false) String idempotencyKey,
+            Authentication authentication) {
+        String userId = authentication.getName();
+        IdempotentResult<TransactionDTO> result = idempotencyService.execute(userId, idempotencyKey,
+                IdempotencyKeys.fingerprint(request), TransactionDTO.class,
+                () -> transactionService.sendTransaction(userId, request));
+        return replayAware(ResponseEntity.status(HttpStatus.CREATED), result).body(result.body());
+    }
+
+    // 201, если записана хотя бы одна позиция; если все отклонены — 400 с причинами по позициям
+    @PostMapping("/send-batch")
+    public ResponseEntity<SendBatchResultDTO> sendBatch(
+            @RequestBody SendBatchRequest request,
+            @RequestHeader(value = IdempotencyKeys.HEADER, required = false) String idempotencyKey,
             Authentication authentication) {
         String userId = authentication.getName();
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(transactionService.sendTransaction(userId, request));
+        IdempotentResult<SendBatchResultDTO> result = idempotencyService.execute(userId, idempotencyKey,
+                IdempotencyKeys.fingerprint(request), SendBatchResultDTO.class,
+                () -> transactionService.sendBatch(userId, request));
+        HttpStatus status = result.body().getCompleted() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
+        return replayAware(ResponseEntity.status(status), result).body(result.body());
+    }
+
+    private static ResponseEntity.BodyBuilder replayAware(ResponseEntity.BodyBuilder response, IdempotentResult<?> result) {
+        return result.replayed() ? response.header(IdempotencyKeys.REPLAYED_HEADER, "true") : response;
     }
-}
\ No newline at end of file
+}
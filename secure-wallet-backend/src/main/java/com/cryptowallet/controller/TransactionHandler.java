@@ -0,0 +1,91 @@
+package com.cryptowallet.controller;
+
+import com.cryptowallet.cache.ReactiveWalletVersions;
+import com.cryptowallet.dto.*;
+import com.cryptowallet.idempotency.IdempotencyKeys;
+import com.cryptowallet.idempotency.IdempotentResult;
+import com.cryptowallet.idempotency.ReactiveIdempotencyService;
+import com.cryptowallet.service.ReactiveTransactionService;
+import com.cryptowallet.service.ReactiveTransactionStatsService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+// /api/transactions в профиле reactive — функциональный аналог TransactionController
+@Component
+@Profile("reactive")
+public class TransactionHandler {
+    private final ReactiveTransactionService transactionService;
+    private final ReactiveIdempotencyService idempotencyService;
+    private final ReactiveWalletVersions walletVersions;
+    private final ReactiveTransactionStatsService statsService;
+
+    public TransactionHandler(ReactiveTransactionService transactionService, ReactiveIdempotencyService idempotencyService,
+                              ReactiveWalletVersions walletVersions, ReactiveTransactionStatsService statsService) {
+        this.transactionService = transactionService;
+        this.idempotencyService = idempotencyService;
+        this.walletVersions = walletVersions;
+        this.statsService = statsService;
+    }
+
+    // Полная история JSON-массивом; элементы уходят клиенту по мере чтения курсора
+    public Mono<ServerResponse> getTransactions(ServerRequest request) {
+        return ReactiveRoutes.userId(request).flatMap(userId -> ReactiveRoutes.conditional(request,
+                walletVersions.etag(userId), etag -> ServerResponse.ok().eTag(etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(transactionService.streamUserTransactions(userId), TransactionDTO.class)));
+    }
+
+    public Mono<ServerResponse> getTransactionsPage(ServerRequest request) {
+        return ReactiveRoutes.userId(request).flatMap(userId -> ReactiveRoutes.conditional(request,
+                walletVersions.etag(userId), etag -> transactionService.getUserTransactionsPage(userId,
+                                request.queryParam("cursor").orElse(null), ReactiveRoutes.limit(request))
+                        .flatMap(page -> ServerResponse.ok().eTag(etag).bodyValue(page))));
+    }
+
+    public Mono<ServerResponse> streamTransactions(ServerRequest request) {
+        return ReactiveRoutes.userId(request).flatMap(userId -> ReactiveRoutes.conditional(request,
+                walletVersions.etag(userId), etag -> ServerResponse.ok().eTag(etag)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(transactionService.streamUserTransactions(userId), TransactionDTO.class)));
+    }
+
+    public Mono<ServerResponse> getStats(ServerRequest request) {
+        return ReactiveRoutes.userId(request)
+                .flatMap(userId -> statsService.getStats(userId, request.queryParam("interval").orElse("day"),
+                        request.queryParam("from").orElse(null), request.queryParam("to").orElse(null)))
+                .flatMap(stats -> ServerResponse.ok().bodyValue(stats));
+    }
+
+    public Mono<ServerResponse> sendTransaction(ServerRequest request) {
+        return ReactiveRoutes.userId(request)
+                .flatMap(userId -> request.bodyToMono(SendTransactionRequest.class)
+                        .flatMap(body -> idempotencyService.execute(userId, idempotencyKey(request),
+                                IdempotencyKeys.fingerprint(body), TransactionDTO.class,
+                                () -> transactionService.sendTransaction(userId, body))))
+                .flatMap(result -> replayAware(ServerResponse.status(HttpStatus.CREATED), result).bodyValue(result.body()));
+    }
+
+    public Mono<ServerResponse> sendBatch(ServerRequest request) {
+        return ReactiveRoutes.userId(request)
+                .flatMap(userId -> request.bodyToMono(SendBatchRequest.class)
+                        .flatMap(body -> idempotencyService.execute(userId, idempotencyKey(request),
+                                IdempotencyKeys.fingerprint(body), SendBatchResultDTO.class,
+                                () -> transactionService.sendBatch(userId, body))))
+                .flatMap(result -> replayAware(ServerResponse
+                        .status(result.body().getCompleted() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST), result)
+                        .bodyValue(result.body()));
+    }
+
+    private static String idempotencyKey(ServerRequest request) {
+        return request.headers().firstHeader(IdempotencyKeys.HEADER);
+    }
+
+    private static ServerResponse.BodyBuilder replayAware(ServerResponse.BodyBuilder response, IdempotentResult<?> result) {
+        return result.replayed() ? response.header(IdempotencyKeys.REPLAYED_HEADER, "true") : response;
+    }
+}
@@ -1,34 +1,72 @@
 package com.cryptowallet.controller;
 
+import com.cryptowallet.cache.WalletVersions;
 import com.cryptowallet.dto.*;
 import com.cryptowallet.service.WalletService;
+import com.cryptowallet.summary.PortfolioSummaries;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.security.core.Authentication;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/wallets")
 @CrossOrigin(origins = "*")
+@Profile("!reactive")
 public class WalletController {
     private final WalletService walletService;
+    private final ObjectMapper objectMapper;
+    private final WalletVersions walletVersions;
+    private final PortfolioSummaries portfolioSummaries;
 
     // Явный конструктор для корректной инициализации (вместо Lombok)
-    public WalletController(WalletService walletService) {
+    public WalletController(WalletService walletService, ObjectMapper objectMapper, WalletVersions walletVersions,
+                            PortfolioSummaries portfolioSummaries) {
         this.walletService = walletService;
+        this.objectMapper = objectMapper;
+        this.walletVersions = walletVersions;
+        this.portfolioSummaries = portfolioSummaries;
     }
 
+    // GET-ответы несут ETag версии кошельков пользователя (WalletVersions): совпавший If-None-Match
+    // отвечается 304 до загрузки кошельков и истории
     @GetMapping
-    public ResponseEntity<List<WalletDTO>> getWallets(Authentication authentication) {
+    public ResponseEntity<List<WalletDTO>> getWallets(Authentication authentication, WebRequest webRequest) {
         String userId = authentication.getName();
-        return ResponseEntity.ok(walletService.getUserWallets(userId));
+        // Снимок кошельков должен быть не старше версии, которая уходит в ETag
+        long version = walletVersions.version(userId);
+        if (webRequest.checkNotModified(WalletVersions.etag(userId, version))) {
+            return null;
+        }
+        return ResponseEntity.ok(walletService.getUserWallets(userId, version));
+    }
+
+    // Сводка для главного экрана: суммы — по снимку кошельков, отправки — один документ portfolio_summaries
+    @GetMapping("/summary")
+    public ResponseEntity<PortfolioSummaryDTO> getSummary(Authentication authentication, WebRequest webRequest) {
+        String userId = authentication.getName();
+        long version = walletVersions.version(userId);
+        if (webRequest.checkNotModified(PortfolioSummaries.etag(WalletVersions.etag(userId, version)))) {
+            return null;
+        }
+        return ResponseEntity.ok(portfolioSummaries.get(userId, walletService.getUserWallets(userId, version)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<WalletDTO> getWallet(@PathVariable String id, Authentication authentication) {
+    public ResponseEntity<WalletDTO> getWallet(@PathVariable String id, Authentication authentication,
+                                               WebRequest webRequest) {
         String userId = authentication.getName();
-        return ResponseEntity.ok(walletService.getWallet(id, userId));
+        long version = walletVersions.version(userId);
+        if (webRequest.checkNotModified(WalletVersions.etag(userId, version))) {
+            return null;
+        }
+        return ResponseEntity.ok(walletService.getWallet(id, userId, version));
     }
 
     @PostMapping("/create")
@@ -40,11 +78,49 @@ public class WalletController {
                 .body(walletService.createWallet(userId, request));
     }
 
+    // Полная история тем же JSON-массивом, но потоком из курсора Mongo
     @GetMapping("/{id}/transactions")
-    public ResponseEntity<List<TransactionDTO>> getWalletTransactions(
+    public ResponseEntity<StreamingResponseBody> getWalletTransactions(
             @PathVariable String id,
-            Authentication authentication) {
+            Authentication authentication,
+            WebRequest webRequest) {
+        String userId = authentication.getName();
+        String etag = walletVersions.etag(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(JsonStreams.jsonArray(walletService.streamWalletTransactions(id, userId), objectMapper));
+    }
+
+    @GetMapping("/{id}/transactions/page")
+    public ResponseEntity<TransactionPageDTO> getWalletTransactionsPage(
+            @PathVariable String id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            Authentication authentication,
+            WebRequest webRequest) {
+        String userId = authentication.getName();
+        String etag = walletVersions.etag(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok(walletService.getWalletTransactionsPage(id, userId, cursor, limit));
+    }
+
+    @GetMapping(value = "/{id}/transactions/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamWalletTransactions(
+            @PathVariable String id,
+            Authentication authentication,
+            WebRequest webRequest) {
         String userId = authentication.getName();
-        return ResponseEntity.ok(walletService.getWalletTransactions(id, userId));
+        String etag = walletVersions.etag(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(JsonStreams.ndjson(walletService.streamWalletTransactions(id, userId), objectMapper));
     }
 }
\ No newline at end of file
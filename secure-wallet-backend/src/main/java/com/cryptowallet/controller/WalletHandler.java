@@ -0,0 +1,89 @@
+package com.cryptowallet.controller;
+
+import com.cryptowallet.cache.ReactiveWalletVersions;
+import com.cryptowallet.cache.WalletVersions;
+import com.cryptowallet.dto.*;
+import com.cryptowallet.service.ReactiveWalletService;
+import com.cryptowallet.summary.PortfolioSummaries;
+import com.cryptowallet.summary.ReactivePortfolioSummaries;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+// /api/wallets в профиле reactive — функциональный аналог WalletController
+@Component
+@Profile("reactive")
+public class WalletHandler {
+    private final ReactiveWalletService walletService;
+    private final ReactiveWalletVersions walletVersions;
+    private final ReactivePortfolioSummaries portfolioSummaries;
+
+    public WalletHandler(ReactiveWalletService walletService, ReactiveWalletVersions walletVersions,
+                         ReactivePortfolioSummaries portfolioSummaries) {
+        this.walletService = walletService;
+        this.walletVersions = walletVersions;
+        this.portfolioSummaries = portfolioSummaries;
+    }
+
+    public Mono<ServerResponse> getWallets(ServerRequest request) {
+        return ReactiveRoutes.userId(request).flatMap(userId -> walletVersions.version(userId)
+                .flatMap(version -> ReactiveRoutes.conditional(request,
+                        Mono.just(WalletVersions.etag(userId, version)), etag -> ServerResponse.ok().eTag(etag)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .body(walletService.getUserWallets(userId, version), WalletDTO.class))));
+    }
+
+    public Mono<ServerResponse> getSummary(ServerRequest request) {
+        return ReactiveRoutes.userId(request).flatMap(userId -> walletVersions.version(userId)
+                .flatMap(version -> ReactiveRoutes.conditional(request,
+                        Mono.just(PortfolioSummaries.etag(WalletVersions.etag(userId, version))),
+                        etag -> walletService.getUserWallets(userId, version).collectList()
+                                .flatMap(wallets -> portfolioSummaries.get(userId, wallets))
+                                .flatMap(summary -> ServerResponse.ok().eTag(etag).bodyValue(summary)))));
+    }
+
+    public Mono<ServerResponse> getWallet(ServerRequest request) {
+        return ReactiveRoutes.userId(request).flatMap(userId -> walletVersions.version(userId)
+                .flatMap(version -> ReactiveRoutes.conditional(request,
+                        Mono.just(WalletVersions.etag(userId, version)),
+                        etag -> walletService.getWallet(request.pathVariable("id"), userId, version)
+                                .flatMap(wallet -> ServerResponse.ok().eTag(etag).bodyValue(wallet)))));
+    }
+
+    public Mono<ServerResponse> createWallet(ServerRequest request) {
+        return ReactiveRoutes.userId(request)
+                .flatMap(userId -> request.bodyToMono(CreateWalletRequest.class)
+                        .flatMap(body -> walletService.createWallet(userId, body)))
+                .flatMap(wallet -> ServerResponse.created(URI.create("/api/wallets/" + wallet.getId())).bodyValue(wallet));
+    }
+
+    // Полная история JSON-массивом; элементы уходят клиенту по мере чтения курсора
+    public Mono<ServerResponse> getWalletTransactions(ServerRequest request) {
+        return ReactiveRoutes.userId(request).flatMap(userId -> ReactiveRoutes.conditional(request,
+                walletVersions.etag(userId), etag -> ServerResponse.ok().eTag(etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(walletService.streamWalletTransactions(request.pathVariable("id"), userId),
+                                TransactionDTO.class)));
+    }
+
+    public Mono<ServerResponse> getWalletTransactionsPage(ServerRequest request) {
+        return ReactiveRoutes.userId(request).flatMap(userId -> ReactiveRoutes.conditional(request,
+                walletVersions.etag(userId), etag -> walletService.getWalletTransactionsPage(
+                                request.pathVariable("id"), userId,
+                                request.queryParam("cursor").orElse(null), ReactiveRoutes.limit(request))
+                        .flatMap(page -> ServerResponse.ok().eTag(etag).bodyValue(page))));
+    }
+
+    public Mono<ServerResponse> streamWalletTransactions(ServerRequest request) {
+        return ReactiveRoutes.userId(request).flatMap(userId -> ReactiveRoutes.conditional(request,
+                walletVersions.etag(userId), etag -> ServerResponse.ok().eTag(etag)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .body(walletService.streamWalletTransactions(request.pathVariable("id"), userId),
+                                TransactionDTO.class)));
+    }
+}
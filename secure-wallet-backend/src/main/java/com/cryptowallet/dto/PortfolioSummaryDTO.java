@@ -0,0 +1,34 @@
+package com.cryptowallet.dto;
+
+import com.cryptowallet.money.Money;
+
+import java.util.Map;
+
+// Ответ GET /api/wallets/summary: суммы по валютам и объём отправок за 24 часа и 7 дней (с точностью до часа)
+public class PortfolioSummaryDTO {
+    private Map<String, Money> totals;
+    private int walletCount;
+    // null, если операций ещё не было
+    private String lastActivity;
+    private Map<String, Money> sent24h;
+    private Map<String, Money> sent7d;
+
+    // Пустой конструктор для десериализации
+    public PortfolioSummaryDTO() {
+    }
+
+    public PortfolioSummaryDTO(Map<String, Money> totals, int walletCount, String lastActivity,
+                               Map<String, Money> sent24h, Map<String, Money> sent7d) {
+        this.totals = totals;
+        this.walletCount = walletCount;
+        this.lastActivity = lastActivity;
+        this.sent24h = sent24h;
+        this.sent7d = sent7d;
+    }
+
+    public Map<String, Money> getTotals() { return totals; }
+    public int getWalletCount() { return walletCount; }
+    public String getLastActivity() { return lastActivity; }
+    public Map<String, Money> getSent24h() { return sent24h; }
+    public Map<String, Money> getSent7d() { return sent7d; }
+}
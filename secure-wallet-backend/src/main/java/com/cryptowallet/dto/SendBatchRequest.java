@@ -0,0 +1,48 @@
+package com.cryptowallet.dto;
+
+import com.cryptowallet.money.Money;
+
+import java.util.List;
+
+// Пакетная выплата с одного кошелька: списывается сумма всех допустимых позиций одной операцией
+public class SendBatchRequest {
+    private String fromWalletId;
+    private List<Item> items;
+
+    public SendBatchRequest() {
+    }
+
+    public SendBatchRequest(String fromWalletId, List<Item> items) {
+        this.fromWalletId = fromWalletId;
+        this.items = items;
+    }
+
+    public String getFromWalletId() {
+        return fromWalletId;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public static class Item {
+        private String toAddress;
+        private Money amount;
+
+        public Item() {
+        }
+
+        public Item(String toAddress, Money amount) {
+            this.toAddress = toAddress;
+            this.amount = amount;
+        }
+
+        public String getToAddress() {
+            return toAddress;
+        }
+
+        public Money getAmount() {
+            return amount;
+        }
+    }
+}
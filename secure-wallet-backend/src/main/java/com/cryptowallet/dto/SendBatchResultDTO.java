@@ -0,0 +1,62 @@
+package com.cryptowallet.dto;
+
+import com.cryptowallet.money.Money;
+
+import java.util.List;
+
+// Результат пакетной выплаты: по позиции на каждый элемент запроса, в том же порядке
+public class SendBatchResultDTO {
+    public static final String COMPLETED = "completed";
+    // Позиция не прошла проверку и не списывалась
+    public static final String REJECTED = "rejected";
+    // Списана, но запись транзакции не вставилась; сумма возвращена на кошелёк
+    public static final String FAILED = "failed";
+
+    private Money totalDebited;
+    private int completed;
+    private int rejected;
+    private int failed;
+    private List<ItemResult> items;
+
+    // Пустой конструктор для десериализации
+    public SendBatchResultDTO() {
+    }
+
+    public SendBatchResultDTO(Money totalDebited, int completed, int rejected, int failed, List<ItemResult> items) {
+        this.totalDebited = totalDebited;
+        this.completed = completed;
+        this.rejected = rejected;
+        this.failed = failed;
+        this.items = items;
+    }
+
+    public Money getTotalDebited() { return totalDebited; }
+    public int getCompleted() { return completed; }
+    public int getRejected() { return rejected; }
+    public int getFailed() { return failed; }
+    public List<ItemResult> getItems() { return items; }
+
+    public static class ItemResult {
+        private int index;
+        private String status;
+        // null для completed
+        private String error;
+        // null, если транзакция не создана
+        private TransactionDTO transaction;
+
+        public ItemResult() {
+        }
+
+        public ItemResult(int index, String status, String error, TransactionDTO transaction) {
+            this.index = index;
+            this.status = status;
+            this.error = error;
+            this.transaction = transaction;
+        }
+
+        public int getIndex() { return index; }
+        public String getStatus() { return status; }
+        public String getError() { return error; }
+        public TransactionDTO getTransaction() { return transaction; }
+    }
+}
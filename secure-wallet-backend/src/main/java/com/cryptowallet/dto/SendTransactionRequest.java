@@ -1,14 +1,16 @@
 package com.cryptowallet.dto;
 
+import com.cryptowallet.money.Money;
+
 public class SendTransactionRequest {
     private String fromWalletId;
     private String toAddress;
-    private Double amount;
+    private Money amount;
 
     public SendTransactionRequest() {
     }
 
-    public SendTransactionRequest(String fromWalletId, String toAddress, Double amount) {
+    public SendTransactionRequest(String fromWalletId, String toAddress, Money amount) {
         this.fromWalletId = fromWalletId;
         this.toAddress = toAddress;
         this.amount = amount;
@@ -22,7 +24,7 @@ public class SendTransactionRequest {
         return toAddress;
     }
 
-    public Double getAmount() {
+    public Money getAmount() {
         return amount;
     }
 }
@@ -1,9 +1,11 @@
 package com.cryptowallet.dto;
 
+import com.cryptowallet.money.Money;
+
 public class TransactionDTO {
     private String id;
     private String type;
-    private Double amount;
+    private Money amount;
     private String address;
     private String status;
     private String timestamp;
@@ -31,7 +33,7 @@ public class TransactionDTO {
     // Getters
     public String getId() { return id; }
     public String getType() { return type; }
-    public Double getAmount() { return amount; }
+    public Money getAmount() { return amount; }
     public String getAddress() { return address; }
     public String getStatus() { return status; }
     public String getTimestamp() { return timestamp; }
@@ -40,7 +42,7 @@ public class TransactionDTO {
     public static class TransactionDTOBuilder {
         private String id;
         private String type;
-        private Double amount;
+        private Money amount;
         private String address;
         private String status;
         private String timestamp;
@@ -48,7 +50,7 @@ public class TransactionDTO {
 
         public TransactionDTOBuilder id(String id) { this.id = id; return this; }
         public TransactionDTOBuilder type(String type) { this.type = type; return this; }
-        public TransactionDTOBuilder amount(Double amount) { this.amount = amount; return this; }
+        public TransactionDTOBuilder amount(Money amount) { this.amount = amount; return this; }
         public TransactionDTOBuilder address(String address) { this.address = address; return this; }
         public TransactionDTOBuilder status(String status) { this.status = status; return this; }
         public TransactionDTOBuilder timestamp(String timestamp) { this.timestamp = timestamp; return this; }
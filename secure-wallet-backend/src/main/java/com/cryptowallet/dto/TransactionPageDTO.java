@@ -0,0 +1,21 @@
+package com.cryptowallet.dto;
+
+import java.util.List;
+
+public class TransactionPageDTO {
+    private List<TransactionDTO> items;
+    // null, если страниц больше нет
+    private String nextCursor;
+
+    // Пустой конструктор для десериализации
+    public TransactionPageDTO() {
+    }
+
+    public TransactionPageDTO(List<TransactionDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TransactionDTO> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+}
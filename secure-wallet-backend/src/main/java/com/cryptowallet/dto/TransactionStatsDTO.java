@@ -0,0 +1,58 @@
+package com.cryptowallet.dto;
+
+import com.cryptowallet.money.Money;
+
+import java.util.List;
+
+// Ответ GET /api/transactions/stats: строки по (начало интервала, валюта, тип, статус) в порядке интервалов.
+// Интервалы без транзакций строк не имеют; from/to — границы запроса, выровненные по интервалу
+public class TransactionStatsDTO {
+    private String interval;
+    private String from;
+    private String to;
+    private List<Bucket> buckets;
+
+    // Пустой конструктор для десериализации
+    public TransactionStatsDTO() {
+    }
+
+    public TransactionStatsDTO(String interval, String from, String to, List<Bucket> buckets) {
+        this.interval = interval;
+        this.from = from;
+        this.to = to;
+        this.buckets = buckets;
+    }
+
+    public String getInterval() { return interval; }
+    public String getFrom() { return from; }
+    public String getTo() { return to; }
+    public List<Bucket> getBuckets() { return buckets; }
+
+    public static class Bucket {
+        private String start;
+        private String currency;
+        private String type;
+        private String status;
+        private long count;
+        private Money sum;
+
+        public Bucket() {
+        }
+
+        public Bucket(String start, String currency, String type, String status, long count, Money sum) {
+            this.start = start;
+            this.currency = currency;
+            this.type = type;
+            this.status = status;
+            this.count = count;
+            this.sum = sum;
+        }
+
+        public String getStart() { return start; }
+        public String getCurrency() { return currency; }
+        public String getType() { return type; }
+        public String getStatus() { return status; }
+        public long getCount() { return count; }
+        public Money getSum() { return sum; }
+    }
+}
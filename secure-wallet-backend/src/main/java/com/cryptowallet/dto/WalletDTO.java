@@ -1,5 +1,7 @@
 package com.cryptowallet.dto;
 
+import com.cryptowallet.money.Money;
+
 import java.util.List;
 
 public class WalletDTO {
@@ -7,7 +9,7 @@ public class WalletDTO {
     private String name;
     private String currency;
     private String symbol;
-    private Double balance;
+    private Money balance;
     private String address;
     private List<TransactionDTO> transactions;
 
@@ -35,7 +37,7 @@ public class WalletDTO {
     public String getName() { return name; }
     public String getCurrency() { return currency; }
     public String getSymbol() { return symbol; }
-    public Double getBalance() { return balance; }
+    public Money getBalance() { return balance; }
     public String getAddress() { return address; }
     public List<TransactionDTO> getTransactions() { return transactions; }
 
@@ -44,7 +46,7 @@ public class WalletDTO {
         private String name;
         private String currency;
         private String symbol;
-        private Double balance;
+        private Money balance;
         private String address;
         private List<TransactionDTO> transactions;
 
@@ -52,7 +54,7 @@ public class WalletDTO {
         public WalletDTOBuilder name(String name) { this.name = name; return this; }
         public WalletDTOBuilder currency(String currency) { this.currency = currency; return this; }
         public WalletDTOBuilder symbol(String symbol) { this.symbol = symbol; return this; }
-        public WalletDTOBuilder balance(Double balance) { this.balance = balance; return this; }
+        public WalletDTOBuilder balance(Money balance) { this.balance = balance; return this; }
         public WalletDTOBuilder address(String address) { this.address = address; return this; }
         public WalletDTOBuilder transactions(List<TransactionDTO> transactions) { this.transactions = transactions; return this; }
 
@@ -0,0 +1,60 @@
+package com.cryptowallet.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.Instant;
+
+// Запись о запросе с заголовком Idempotency-Key. _id = userId + ":" + ключ, поэтому уникальность
+// обеспечивает индекс _id, а повтор с тем же ключом ловится DuplicateKeyException при вставке.
+// Записи живут сутки (TTL-индекс по createdAt), дальше ключ можно использовать заново.
+@Document(collection = "idempotency_keys")
+public class IdempotencyRecord {
+    public static final String PENDING = "pending";
+    public static final String COMPLETED = "completed";
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    // Хэш тела запроса: тот же ключ с другим телом — ошибка клиента, а не повтор
+    private String fingerprint;
+
+    private String status;
+
+    // Ответ первого запроса в JSON; пусто, пока запрос выполняется
+    private String response;
+
+    @Indexed(name = "createdAt_ttl", expireAfter = "24h")
+    private Instant createdAt;
+
+    public IdempotencyRecord() {
+    }
+
+    public IdempotencyRecord(String id, String userId, String fingerprint, String status, String response, Instant createdAt) {
+        this.id = id;
+        this.userId = userId;
+        this.fingerprint = fingerprint;
+        this.status = status;
+        this.response = response;
+        this.createdAt = createdAt;
+    }
+
+    public static IdempotencyRecord pending(String id, String userId, String fingerprint) {
+        return new IdempotencyRecord(id, userId, fingerprint, PENDING, null, Instant.now());
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+    public String getFingerprint() { return fingerprint; }
+    public void setFingerprint(String fingerprint) { this.fingerprint = fingerprint; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public String getResponse() { return response; }
+    public void setResponse(String response) { this.response = response; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
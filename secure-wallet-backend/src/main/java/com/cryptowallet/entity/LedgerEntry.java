@@ -0,0 +1,48 @@
+package com.cryptowallet.entity;
+
+import com.cryptowallet.money.Money;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import java.time.Instant;
+import java.util.UUID;
+
+// Изменение баланса кошелька с журналом (Wallet.ledger): вместо $inc по одному документу кошелька — вставка.
+// Записи только добавляются (отмена — встречная запись); WalletLedgerCompactor сворачивает их в Wallet.balance
+// и удаляет. walletId — естественный ключ шардирования коллекции.
+@Document(collection = "wallet_ledger")
+public class LedgerEntry {
+    @Id
+    private String id;
+
+    @Indexed(name = "walletId_1")
+    private String walletId;
+
+    // Со знаком: списание — отрицательная сумма
+    private Money amount;
+
+    private Instant createdAt;
+
+    public LedgerEntry() {
+    }
+
+    public LedgerEntry(String id, String walletId, Money amount, Instant createdAt) {
+        this.id = id;
+        this.walletId = walletId;
+        this.amount = amount;
+        this.createdAt = createdAt;
+    }
+
+    public static LedgerEntry of(String walletId, Money amount) {
+        return new LedgerEntry(UUID.randomUUID().toString(), walletId, amount, Instant.now());
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getWalletId() { return walletId; }
+    public void setWalletId(String walletId) { this.walletId = walletId; }
+    public Money getAmount() { return amount; }
+    public void setAmount(Money amount) { this.amount = amount; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
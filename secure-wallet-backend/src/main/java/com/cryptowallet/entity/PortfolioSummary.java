@@ -0,0 +1,53 @@
+package com.cryptowallet.entity;
+
+import com.cryptowallet.money.Money;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// Отправки и последняя операция пользователя (_id = userId) для GET /api/wallets/summary. Поддерживается
+// приращениями ($inc) вокруг записи отправок — см. MongoPortfolioSummaries; ключи валют экранированы.
+// Суммы балансов и число кошельков здесь не хранятся: они считаются по списку кошельков при чтении
+@Document(collection = "portfolio_summaries")
+public class PortfolioSummary {
+    @Id
+    private String userId;
+
+    private LocalDateTime lastActivity;
+
+    // Объём отправок по часам за последние 7 дней: час (yyyyMMddHH) -> символ -> сумма
+    private Map<String, Map<String, Money>> sent;
+
+    // Число приращений: пересборка заменяет документ, только если оно не сдвинулось с её начала
+    private long changes;
+
+    // Отправки, которые сейчас записываются: пока их больше нуля, пересборка документ не заменяет
+    private long pending;
+
+    // true — документ создан приращением до сборки или пропустил приращение; при чтении собирается заново
+    private boolean partial;
+
+    public PortfolioSummary() {
+    }
+
+    public PortfolioSummary(String userId, LocalDateTime lastActivity, Map<String, Map<String, Money>> sent) {
+        this.userId = userId;
+        this.lastActivity = lastActivity;
+        this.sent = sent;
+    }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+    public LocalDateTime getLastActivity() { return lastActivity; }
+    public void setLastActivity(LocalDateTime lastActivity) { this.lastActivity = lastActivity; }
+    public Map<String, Map<String, Money>> getSent() { return sent; }
+    public void setSent(Map<String, Map<String, Money>> sent) { this.sent = sent; }
+    public long getChanges() { return changes; }
+    public void setChanges(long changes) { this.changes = changes; }
+    public long getPending() { return pending; }
+    public void setPending(long pending) { this.pending = pending; }
+    public boolean isPartial() { return partial; }
+    public void setPartial(boolean partial) { this.partial = partial; }
+}
@@ -1,21 +1,32 @@
 package com.cryptowallet.entity;
 
+import com.cryptowallet.money.Money;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDateTime;
 
+// История читается только «от новых к старым» в разрезе пользователя или кошелька;
+// _id в конце индекса — для keyset-пагинации с одинаковым timestamp
 @Document(collection = "transactions")
+@CompoundIndexes({
+        @CompoundIndex(name = "userId_timestamp_id", def = "{'userId': 1, 'timestamp': -1, '_id': -1}"),
+        @CompoundIndex(name = "walletId_timestamp_id", def = "{'walletId': 1, 'timestamp': -1, '_id': -1}")
+})
 public class Transaction {
     @Id
     private String id;
 
-    @DBRef(lazy = true)
-    private Wallet wallet;
+    // Плоские ссылки вместо @DBRef: по ним работают индексы, и не нужно разыменование кошелька
+    private String walletId;
+
+    private String userId;
 
     private String type;
 
-    private Double amount;
+    // Decimal128; старые записи с double читаются конвертером
+    private Money amount;
 
     private String toAddress;
 
@@ -25,18 +36,23 @@ public class Transaction {
 
     private String currency;
 
+    // Общий идентификатор пары send/receive внутреннего перевода; null для внешних отправок
+    private String transferId;
+
     public Transaction() {
     }
 
-    public Transaction(String id, Wallet wallet, String type, Double amount, String toAddress, String status, LocalDateTime timestamp, String currency) {
+    public Transaction(String id, String walletId, String userId, String type, Money amount, String toAddress, String status, LocalDateTime timestamp, String currency, String transferId) {
         this.id = id;
-        this.wallet = wallet;
+        this.walletId = walletId;
+        this.userId = userId;
         this.type = type;
         this.amount = amount;
         this.toAddress = toAddress;
         this.status = status;
         this.timestamp = timestamp;
         this.currency = currency;
+        this.transferId = transferId;
     }
 
     public static TransactionBuilder builder() {
@@ -46,12 +62,14 @@ public class Transaction {
     // Getters and Setters
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
-    public Wallet getWallet() { return wallet; }
-    public void setWallet(Wallet wallet) { this.wallet = wallet; }
+    public String getWalletId() { return walletId; }
+    public void setWalletId(String walletId) { this.walletId = walletId; }
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
     public String getType() { return type; }
     public void setType(String type) { this.type = type; }
-    public Double getAmount() { return amount; }
-    public void setAmount(Double amount) { this.amount = amount; }
+    public Money getAmount() { return amount; }
+    public void setAmount(Money amount) { this.amount = amount; }
     public String getToAddress() { return toAddress; }
     public void setToAddress(String toAddress) { this.toAddress = toAddress; }
     public String getStatus() { return status; }
@@ -60,28 +78,34 @@ public class Transaction {
     public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
     public String getCurrency() { return currency; }
     public void setCurrency(String currency) { this.currency = currency; }
+    public String getTransferId() { return transferId; }
+    public void setTransferId(String transferId) { this.transferId = transferId; }
 
     public static class TransactionBuilder {
         private String id;
-        private Wallet wallet;
+        private String walletId;
+        private String userId;
         private String type;
-        private Double amount;
+        private Money amount;
         private String toAddress;
         private String status;
         private LocalDateTime timestamp;
         private String currency;
+        private String transferId;
 
         public TransactionBuilder id(String id) { this.id = id; return this; }
-        public TransactionBuilder wallet(Wallet wallet) { this.wallet = wallet; return this; }
+        public TransactionBuilder walletId(String walletId) { this.walletId = walletId; return this; }
+        public TransactionBuilder userId(String userId) { this.userId = userId; return this; }
         public TransactionBuilder type(String type) { this.type = type; return this; }
-        public TransactionBuilder amount(Double amount) { this.amount = amount; return this; }
+        public TransactionBuilder amount(Money amount) { this.amount = amount; return this; }
         public TransactionBuilder toAddress(String toAddress) { this.toAddress = toAddress; return this; }
         public TransactionBuilder status(String status) { this.status = status; return this; }
         public TransactionBuilder timestamp(LocalDateTime timestamp) { this.timestamp = timestamp; return this; }
         public TransactionBuilder currency(String currency) { this.currency = currency; return this; }
+        public TransactionBuilder transferId(String transferId) { this.transferId = transferId; return this; }
 
         public Transaction build() {
-            return new Transaction(id, wallet, type, amount, toAddress, status, timestamp, currency);
+            return new Transaction(id, walletId, userId, type, amount, toAddress, status, timestamp, currency, transferId);
         }
     }
 }
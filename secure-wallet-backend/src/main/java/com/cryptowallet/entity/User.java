@@ -14,13 +14,17 @@ import java.util.List;
 
 @Document(collection = "users")
 public class User implements UserDetails {
+    public static final String USERNAME_INDEX = "username_1";
+    public static final String EMAIL_INDEX = "email_1";
+
     @Id
     private String id;
 
-    @Indexed(unique = true)
+    // Имена индексов совпадают с уже существующими в базе (username_1/email_1)
+    @Indexed(name = USERNAME_INDEX, unique = true)
     private String username;
 
-    @Indexed(unique = true)
+    @Indexed(name = EMAIL_INDEX, unique = true)
     private String email;
 
     private String password;
@@ -1,13 +1,12 @@
 package com.cryptowallet.entity;
 
+import com.cryptowallet.money.Money;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.annotation.Transient;
 import org.springframework.data.mongodb.core.index.Indexed;
-import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -16,22 +15,29 @@ public class Wallet {
     @Id
     private String id;
 
-    // Для схемы БД требуется явное поле userId
+    // Для схемы БД требуется явное поле userId; все выборки кошельков пользователя идут по нему
+    @Indexed(name = "userId_1")
     private String userId;
 
-    @DBRef(lazy = true)
-    private User user;
-
     private String name;
 
     private String currency;
 
     private String symbol;
 
-    // Decimal128 в Mongo — используем BigDecimal в Java
-    private BigDecimal balance;
+    // В Mongo — Decimal128 (см. MoneyConverters), в Java — Money с фиксированной точкой
+    private Money balance;
+
+    // «Горячий» кошелёк: изменения баланса пишутся вставками в wallet_ledger (LedgerEntry), а balance —
+    // снимок, в который их периодически сворачивает WalletLedgerCompactor. Точный баланс = balance + записи журнала
+    private boolean ledger;
+
+    // Кошелёк с полосами: баланс разложен по stripes документам wallet_stripes (WalletStripe), списание идёт
+    // $inc с условием по одной полосе. Точный баланс = balance + сумма полос. null — обычный кошелёк
+    @Indexed(name = "stripes_1", sparse = true)
+    private Integer stripes;
 
-    @Indexed(unique = true)
+    @Indexed(name = "address_1", unique = true)
     private String address;
 
     @CreatedDate
@@ -46,13 +52,14 @@ public class Wallet {
     // Приватный конструктор для использования билдером
     private Wallet(WalletBuilder builder) {
         this.id = builder.id;
-    this.user = builder.user;
     this.userId = builder.userId;
         this.name = builder.name;
         this.currency = builder.currency;
         this.symbol = builder.symbol;
         this.balance = builder.balance;
         this.address = builder.address;
+        this.ledger = builder.ledger;
+        this.stripes = builder.stripes;
         this.createdAt = builder.createdAt;
     this.updatedAt = builder.updatedAt;
         this.transactions = builder.transactions;
@@ -70,8 +77,6 @@ public class Wallet {
     // Getters and Setters
     public String getId() { return id; }
     public void setId(String id) { this.id = id; }
-    public User getUser() { return user; }
-    public void setUser(User user) { this.user = user; }
     public String getUserId() { return userId; }
     public void setUserId(String userId) { this.userId = userId; }
     public String getName() { return name; }
@@ -80,10 +85,14 @@ public class Wallet {
     public void setCurrency(String currency) { this.currency = currency; }
     public String getSymbol() { return symbol; }
     public void setSymbol(String symbol) { this.symbol = symbol; }
-    public BigDecimal getBalance() { return balance; }
-    public void setBalance(BigDecimal balance) { this.balance = balance; }
+    public Money getBalance() { return balance; }
+    public void setBalance(Money balance) { this.balance = balance; }
     public String getAddress() { return address; }
     public void setAddress(String address) { this.address = address; }
+    public boolean isLedger() { return ledger; }
+    public void setLedger(boolean ledger) { this.ledger = ledger; }
+    public Integer getStripes() { return stripes; }
+    public void setStripes(Integer stripes) { this.stripes = stripes; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
@@ -95,12 +104,13 @@ public class Wallet {
     public static class WalletBuilder {
         private String id;
         private String userId;
-        private User user;
         private String name;
         private String currency;
         private String symbol;
-        private BigDecimal balance;
+        private Money balance;
         private String address;
+        private boolean ledger;
+        private Integer stripes;
         private LocalDateTime createdAt;
         private LocalDateTime updatedAt;
         private List<Transaction> transactions;
@@ -110,10 +120,6 @@ public class Wallet {
             return this;
         }
 
-        public WalletBuilder user(User user) {
-            this.user = user;
-            return this;
-        }
         public WalletBuilder userId(String userId) {
             this.userId = userId;
             return this;
@@ -134,7 +140,7 @@ public class Wallet {
             return this;
         }
 
-        public WalletBuilder balance(BigDecimal balance) {
+        public WalletBuilder balance(Money balance) {
             this.balance = balance;
             return this;
         }
@@ -144,6 +150,16 @@ public class Wallet {
             return this;
         }
 
+        public WalletBuilder ledger(boolean ledger) {
+            this.ledger = ledger;
+            return this;
+        }
+
+        public WalletBuilder stripes(Integer stripes) {
+            this.stripes = stripes;
+            return this;
+        }
+
         public WalletBuilder createdAt(LocalDateTime createdAt) {
             this.createdAt = createdAt;
             return this;
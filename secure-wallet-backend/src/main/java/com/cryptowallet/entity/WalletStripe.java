@@ -0,0 +1,50 @@
+package com.cryptowallet.entity;
+
+import com.cryptowallet.money.Money;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Полоса баланса кошелька с Wallet.stripes: отдельный документ, чтобы конкурентные списания с одного
+// кошелька расходились по K документам, а не упирались в блокировку одного. _id = walletId + ":" + номер полосы
+@Document(collection = "wallet_stripes")
+public class WalletStripe {
+    @Id
+    private String id;
+
+    @Indexed(name = "walletId_1")
+    private String walletId;
+
+    private int stripe;
+
+    private Money balance;
+
+    public WalletStripe() {
+    }
+
+    public WalletStripe(String id, String walletId, int stripe, Money balance) {
+        this.id = id;
+        this.walletId = walletId;
+        this.stripe = stripe;
+        this.balance = balance;
+    }
+
+    public static String id(String walletId, int stripe) {
+        return walletId + ":" + stripe;
+    }
+
+    // Обратно из _id — для событий, где есть только ключ документа
+    public static String walletId(String id) {
+        int separator = id.lastIndexOf(':');
+        return separator > 0 ? id.substring(0, separator) : id;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+    public String getWalletId() { return walletId; }
+    public void setWalletId(String walletId) { this.walletId = walletId; }
+    public int getStripe() { return stripe; }
+    public void setStripe(int stripe) { this.stripe = stripe; }
+    public Money getBalance() { return balance; }
+    public void setBalance(Money balance) { this.balance = balance; }
+}
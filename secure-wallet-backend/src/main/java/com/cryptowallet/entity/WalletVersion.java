@@ -0,0 +1,27 @@
+package com.cryptowallet.entity;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Счётчик изменений кошельков пользователя (_id = userId): растёт на каждое создание кошелька, списание
+// и зачисление. Из него строится ETag ответов /api/wallets и /api/transactions. Нет документа — версия 0
+@Document(collection = "wallet_versions")
+public class WalletVersion {
+    @Id
+    private String userId;
+
+    private long version;
+
+    public WalletVersion() {
+    }
+
+    public WalletVersion(String userId, long version) {
+        this.userId = userId;
+        this.version = version;
+    }
+
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+}
@@ -0,0 +1,144 @@
+package com.cryptowallet.events;
+
+import com.cryptowallet.entity.Transaction;
+import com.cryptowallet.entity.WalletStripe;
+import com.mongodb.MongoCommandException;
+import com.mongodb.MongoInterruptedException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Источник событий по умолчанию: один change stream на базу (нужен replica set) видит записи всех экземпляров
+// сервиса. Следит за транзакциями, кошельками, журналом и полосами; документы целиком не подтягивает —
+// для кошельков хватает _id, баланс дочитывает WalletEventFeed. После сбоя поток продолжается с resume token.
+// На standalone MongoDB change streams нет — тогда (или при events.source=local) события берёт LocalWalletEvents
+@Component
+public class ChangeStreamWatcher implements SchedulingConfigurer {
+    private static final Logger log = LoggerFactory.getLogger(ChangeStreamWatcher.class);
+    // «$changeStream stage is only supported on replica sets»
+    private static final int CHANGE_STREAMS_UNSUPPORTED = 40573;
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    private static final Duration MAX_AWAIT = Duration.ofSeconds(1);
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
+    private final MongoTemplate mongoTemplate;
+    private final WalletEventFeed feed;
+    private volatile boolean local;
+    private BsonDocument resumeToken;
+
+    @Value("${events.source:change-stream}")
+    private String source;
+
+    public ChangeStreamWatcher(MongoTemplate mongoTemplate, WalletEventFeed feed) {
+        this.mongoTemplate = mongoTemplate;
+        this.feed = feed;
+    }
+
+    // true — события публикует сам процесс (LocalWalletEvents)
+    public boolean isLocal() {
+        return local;
+    }
+
+    // Поток занимает поток планировщика, пока не упадёт или пока остановка приложения его не прервёт;
+    // после сбоя открывается заново через RETRY_DELAY
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if ("local".equals(source)) {
+            local = true;
+            return;
+        }
+        registrar.addFixedDelayTask(this::run, RETRY_DELAY);
+    }
+
+    void run() {
+        // На standalone MongoDB задача остаётся в планировщике, но поток больше не открывает
+        if (local) {
+            return;
+        }
+        try {
+            watch();
+        } catch (MongoInterruptedException e) {
+            // Остановка приложения
+        } catch (MongoCommandException e) {
+            if (e.getErrorCode() == CHANGE_STREAMS_UNSUPPORTED) {
+                log.warn("Change streams are not available (standalone MongoDB), wallet events fall back to in-process publishing");
+                local = true;
+                return;
+            }
+            if (e.getErrorCode() == CHANGE_STREAM_HISTORY_LOST) {
+                // Пропущенное уже не восстановить: клиенты получат баланс со следующим изменением
+                resumeToken = null;
+            }
+            log.warn("Wallet change stream failed, reopening in {}: {}", RETRY_DELAY, e.getMessage());
+        } catch (Exception e) {
+            log.warn("Wallet change stream failed, reopening in {}: {}", RETRY_DELAY, e.getMessage());
+        }
+    }
+
+    private void watch() {
+        List<Bson> pipeline = List.of(Aggregates.match(Filters.and(
+                Filters.in("ns.coll", "transactions", "wallets", "wallet_ledger", "wallet_stripes"),
+                Filters.in("operationType", "insert", "update", "replace"))));
+        var stream = mongoTemplate.getDb().watch(pipeline, Document.class).maxAwaitTime(MAX_AWAIT.toMillis(), TimeUnit.MILLISECONDS);
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+            while (!Thread.currentThread().isInterrupted()) {
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+                if (change != null) {
+                    dispatch(change);
+                }
+                if (cursor.getResumeToken() != null) {
+                    resumeToken = cursor.getResumeToken();
+                }
+            }
+        }
+    }
+
+    private void dispatch(ChangeStreamDocument<Document> change) {
+        Document document = change.getFullDocument();
+        switch (change.getNamespace().getCollectionName()) {
+            case "transactions" -> {
+                if (document != null) {
+                    feed.transactionInserted(mongoTemplate.getConverter().read(Transaction.class, document));
+                }
+            }
+            case "wallets" -> feed.walletChanged(key(change), document != null ? document.getString("userId") : null);
+            case "wallet_ledger" -> {
+                if (document != null) {
+                    feed.walletChanged(document.getString("walletId"), null);
+                }
+            }
+            case "wallet_stripes" -> {
+                String stripeId = key(change);
+                if (stripeId != null) {
+                    feed.walletChanged(WalletStripe.walletId(stripeId), null);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private static String key(ChangeStreamDocument<Document> change) {
+        BsonValue id = change.getDocumentKey() != null ? change.getDocumentKey().get("_id") : null;
+        return id != null && id.isString() ? id.asString().getValue() : null;
+    }
+}
@@ -0,0 +1,34 @@
+package com.cryptowallet.events;
+
+import com.cryptowallet.entity.Transaction;
+import com.cryptowallet.entity.Wallet;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+// Запасной источник событий, когда change stream недоступен (см. ChangeStreamWatcher): сохранения через
+// MongoTemplate этого же процесса. Любое изменение баланса сопровождается вставкой транзакции, поэтому её
+// достаточно, чтобы отметить кошелёк изменённым. Записи других экземпляров сервиса сюда не попадают
+@Component
+public class LocalWalletEvents extends AbstractMongoEventListener<Object> {
+
+    private final ChangeStreamWatcher changeStreamWatcher;
+    private final WalletEventFeed feed;
+
+    public LocalWalletEvents(ChangeStreamWatcher changeStreamWatcher, WalletEventFeed feed) {
+        this.changeStreamWatcher = changeStreamWatcher;
+        this.feed = feed;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Object> event) {
+        if (!changeStreamWatcher.isLocal()) {
+            return;
+        }
+        if (event.getSource() instanceof Transaction transaction) {
+            feed.transactionInserted(transaction);
+        } else if (event.getSource() instanceof Wallet wallet) {
+            feed.walletChanged(wallet.getId(), wallet.getUserId());
+        }
+    }
+}
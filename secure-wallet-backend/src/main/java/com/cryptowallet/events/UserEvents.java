@@ -0,0 +1,103 @@
+package com.cryptowallet.events;
+
+import com.cryptowallet.dto.TransactionDTO;
+import com.cryptowallet.dto.WalletDTO;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Рассылка событий подключённым клиентам (GET /api/events): свой канал на пользователя, создаётся при первом
+// подключении и убирается с последним. Пока пользователь не подключён, события для него отбрасываются ещё до
+// чтения из базы (см. hasListeners). Медленный клиент не тормозит остальных: у каждого подписчика свой
+// ограниченный буфер, при переполнении теряются самые старые события — баланс всё равно придёт следующим
+@Component
+public class UserEvents {
+    static final String WALLET = "wallet";
+    static final String TRANSACTION = "transaction";
+
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    @Value("${events.heartbeat:30s}")
+    private Duration heartbeat;
+
+    @Value("${events.buffer-size:256}")
+    private int bufferSize;
+
+    public UserEvents(MeterRegistry meterRegistry) {
+        Gauge.builder("wallet.events.subscribers", subscribers, AtomicInteger::get)
+                .description("Clients connected to the wallet event stream")
+                .register(meterRegistry);
+    }
+
+    // Поток событий пользователя; комментарий-heartbeat держит соединение через прокси без обращений к базе
+    public Flux<ServerSentEvent<Object>> subscribe(String userId) {
+        return Flux.defer(() -> {
+            Channel channel = attach(userId);
+            subscribers.incrementAndGet();
+            return channel.sink.asFlux()
+                    .mergeWith(Flux.interval(heartbeat)
+                            .map(tick -> ServerSentEvent.builder().comment("heartbeat").build()))
+                    // Последним в цепочке: иначе предвыборка merge сама стала бы неограниченным буфером
+                    .onBackpressureBuffer(bufferSize, dropped -> { }, BufferOverflowStrategy.DROP_OLDEST)
+                    .doFinally(signal -> {
+                        subscribers.decrementAndGet();
+                        detach(userId);
+                    });
+        });
+    }
+
+    public boolean hasListeners() {
+        return !channels.isEmpty();
+    }
+
+    public boolean hasListeners(String userId) {
+        return userId != null && channels.containsKey(userId);
+    }
+
+    void wallet(String userId, WalletDTO wallet) {
+        emit(userId, ServerSentEvent.builder().event(WALLET).id(wallet.getId()).data(wallet).build());
+    }
+
+    void transaction(String userId, TransactionDTO transaction) {
+        emit(userId, ServerSentEvent.builder().event(TRANSACTION).id(transaction.getId()).data(transaction).build());
+    }
+
+    private void emit(String userId, ServerSentEvent<Object> event) {
+        Channel channel = channels.get(userId);
+        if (channel != null) {
+            // Sinks не допускает конкурентный emit; события одного пользователя редки, блокировка дешевле повторов
+            synchronized (channel) {
+                channel.sink.tryEmitNext(event);
+            }
+        }
+    }
+
+    private Channel attach(String userId) {
+        return channels.compute(userId, (id, channel) -> {
+            Channel attached = channel != null ? channel : new Channel();
+            attached.connections++;
+            return attached;
+        });
+    }
+
+    private void detach(String userId) {
+        channels.computeIfPresent(userId, (id, channel) -> --channel.connections > 0 ? channel : null);
+    }
+
+    // Счётчик подключений меняется только внутри compute, поэтому канал не удаляется из-под нового подписчика
+    private static final class Channel {
+        final Sinks.Many<ServerSentEvent<Object>> sink = Sinks.many().multicast().directBestEffort();
+        int connections;
+    }
+}
@@ -0,0 +1,86 @@
+package com.cryptowallet.events;
+
+import com.cryptowallet.entity.Transaction;
+import com.cryptowallet.entity.Wallet;
+import com.cryptowallet.ledger.HotWallets;
+import com.cryptowallet.repository.WalletRepository;
+import com.cryptowallet.service.TransactionService;
+import com.cryptowallet.service.WalletService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.FixedDelayTask;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Превращает изменения в базе (из ChangeStreamWatcher или LocalWalletEvents) в события для UserEvents.
+// Новая транзакция уходит сразу — документ уже на руках. Баланс кошелька перечитывается не на каждое изменение:
+// изменённые кошельки копятся и раз в events.balance-interval читаются одним запросом, так что «горячий»
+// кошелёк с тысячами списаний в секунду стоит пары чтений. Без подключённых клиентов не читается ничего
+@Component
+public class WalletEventFeed implements SchedulingConfigurer {
+    private static final Logger log = LoggerFactory.getLogger(WalletEventFeed.class);
+
+    private final UserEvents userEvents;
+    private final WalletRepository walletRepository;
+    private final HotWallets hotWallets;
+    private final Set<String> changedWallets = ConcurrentHashMap.newKeySet();
+
+    @Value("${events.balance-interval:500ms}")
+    private Duration balanceInterval;
+
+    public WalletEventFeed(UserEvents userEvents, WalletRepository walletRepository, HotWallets hotWallets) {
+        this.userEvents = userEvents;
+        this.walletRepository = walletRepository;
+        this.hotWallets = hotWallets;
+    }
+
+    void transactionInserted(Transaction transaction) {
+        if (!userEvents.hasListeners(transaction.getUserId())) {
+            return;
+        }
+        userEvents.transaction(transaction.getUserId(), TransactionService.convertToDTO(transaction));
+        changedWallets.add(transaction.getWalletId());
+    }
+
+    // userId == null — владелец неизвестен (изменение пришло по одному _id), выяснится при чтении кошелька
+    void walletChanged(String walletId, String userId) {
+        if (walletId != null && (userId != null ? userEvents.hasListeners(userId) : userEvents.hasListeners())) {
+            changedWallets.add(walletId);
+        }
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(new FixedDelayTask(this::run, balanceInterval, balanceInterval));
+    }
+
+    void run() {
+        try {
+            publishBalances();
+        } catch (Exception e) {
+            log.warn("Publishing wallet balance events failed: {}", e.getMessage());
+        }
+    }
+
+    void publishBalances() {
+        if (changedWallets.isEmpty()) {
+            return;
+        }
+        List<String> walletIds = new ArrayList<>(changedWallets);
+        changedWallets.removeAll(walletIds);
+        for (Wallet wallet : walletRepository.findAllById(walletIds)) {
+            // Клиент мог отключиться, пока изменение ждало своей очереди
+            if (userEvents.hasListeners(wallet.getUserId())) {
+                userEvents.wallet(wallet.getUserId(), WalletService.convertToDTO(hotWallets.withExactBalance(wallet)));
+            }
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.cryptowallet.exception;
+
+// Отдельные типы ошибок кошелька нужны для тегов метрик и логов; статус ответа остаётся прежним
+public class InsufficientBalanceException extends RuntimeException {
+    public InsufficientBalanceException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.cryptowallet.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class TransferNotAllowedException extends RuntimeException {
+    public TransferNotAllowedException(String message) {
+        super(message);
+    }
+}
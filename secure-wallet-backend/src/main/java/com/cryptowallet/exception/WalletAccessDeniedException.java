@@ -0,0 +1,7 @@
+package com.cryptowallet.exception;
+
+public class WalletAccessDeniedException extends RuntimeException {
+    public WalletAccessDeniedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.cryptowallet.exception;
+
+public class WalletNotFoundException extends RuntimeException {
+    public WalletNotFoundException(String message) {
+        super(message);
+    }
+}
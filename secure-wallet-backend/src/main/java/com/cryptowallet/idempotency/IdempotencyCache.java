@@ -0,0 +1,45 @@
+package com.cryptowallet.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Ограниченный кэш завершённых ответов перед коллекцией idempotency_keys: типичный повтор клиента
+// приходит через секунды после таймаута и отвечается из памяти, без обращения к Mongo.
+// Хранит только завершённые запросы — незавершённые всегда проверяются по базе.
+@Component
+public class IdempotencyCache implements MeterBinder {
+
+    record Entry(String fingerprint, Object body) {
+    }
+
+    private final Cache<String, Entry> cache;
+
+    public IdempotencyCache(@Value("${idempotency.cache.max-size:10000}") long maxSize,
+                            @Value("${idempotency.cache.ttl:1h}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    Entry get(String id) {
+        return cache.getIfPresent(id);
+    }
+
+    void put(String id, String fingerprint, Object body) {
+        cache.put(id, new Entry(fingerprint, body));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "idempotency");
+    }
+}
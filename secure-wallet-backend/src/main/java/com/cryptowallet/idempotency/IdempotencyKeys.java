@@ -0,0 +1,115 @@
+package com.cryptowallet.idempotency;
+
+import com.cryptowallet.dto.SendBatchRequest;
+import com.cryptowallet.dto.SendTransactionRequest;
+import com.cryptowallet.exception.IdempotencyConflictException;
+import com.cryptowallet.exception.IdempotencyKeyReuseException;
+import com.cryptowallet.exception.InvalidIdempotencyKeyException;
+import com.cryptowallet.metrics.Outcomes;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import static com.cryptowallet.entity.IdempotencyRecord.COMPLETED;
+
+// Заголовки и общие правила для блокирующего и реактивного вариантов
+public final class IdempotencyKeys {
+
+    public static final String HEADER = "Idempotency-Key";
+    // Ответ взят из сохранённого результата первого запроса
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private IdempotencyKeys() {
+    }
+
+    // Ключи разных пользователей не пересекаются: в _id и в кэше ключ всегда идёт вместе с userId
+    static String id(String userId, String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException("Idempotency-Key must be 1-" + MAX_KEY_LENGTH + " characters");
+        }
+        return userId + ":" + key;
+    }
+
+    // SHA-256 от частей запроса (операция и поля тела), разделённых нулевым символом
+    public static String fingerprint(Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String fingerprint(SendTransactionRequest request) {
+        return fingerprint("send", request.getFromWalletId(), request.getToAddress(), request.getAmount());
+    }
+
+    public static String fingerprint(SendBatchRequest request) {
+        List<Object> parts = new ArrayList<>();
+        parts.add("send-batch");
+        parts.add(request.getFromWalletId());
+        if (request.getItems() != null) {
+            for (SendBatchRequest.Item item : request.getItems()) {
+                parts.add(item != null ? item.getToAddress() : null);
+                parts.add(item != null ? item.getAmount() : null);
+            }
+        }
+        return fingerprint(parts.toArray());
+    }
+
+    static <T> IdempotentResult<T> replay(IdempotencyCache.Entry entry, String fingerprint, Class<T> type) {
+        if (!entry.fingerprint().equals(fingerprint)) {
+            throw new IdempotencyKeyReuseException("Idempotency-Key was already used with a different request");
+        }
+        return new IdempotentResult<>(type.cast(entry.body()), true);
+    }
+
+    static IdempotencyConflictException inProgress() {
+        return new IdempotencyConflictException("A request with this Idempotency-Key is still in progress");
+    }
+
+    // Ошибки с известной причиной (баланс, владелец, сумма) бросаются до изменения состояния — ключ можно
+    // освободить для повтора. При неизвестной ошибке ключ остаётся занятым: повтор не должен списать дважды.
+    static boolean releasesKey(Throwable error) {
+        return !Outcomes.ERROR.equals(Outcomes.of(error));
+    }
+
+    static Query byId(String id) {
+        return new Query(Criteria.where("_id").is(id));
+    }
+
+    static Update completed(String response) {
+        return new Update().set("status", COMPLETED).set("response", response);
+    }
+
+    static String toJson(ObjectMapper objectMapper, Object body) {
+        try {
+            return objectMapper.writeValueAsString(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot store idempotent response", e);
+        }
+    }
+
+    static <T> T fromJson(ObjectMapper objectMapper, String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read stored idempotent response", e);
+        }
+    }
+}
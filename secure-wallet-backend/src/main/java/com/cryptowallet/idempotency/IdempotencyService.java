@@ -0,0 +1,78 @@
+package com.cryptowallet.idempotency;
+
+import com.cryptowallet.entity.IdempotencyRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.function.Supplier;
+
+// Выполняет запрос не более одного раза на (пользователь, Idempotency-Key):
+// кэш в памяти -> вставка pending-записи (уникальный _id) -> выполнение -> сохранение ответа.
+// Повтор с тем же ключом получает сохранённый ответ и не трогает кошельки.
+@Service
+@Profile("!reactive")
+public class IdempotencyService {
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyCache cache;
+
+    public IdempotencyService(MongoTemplate mongoTemplate, ObjectMapper objectMapper, IdempotencyCache cache) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.cache = cache;
+    }
+
+    // key == null — заголовка нет, запрос выполняется как обычно
+    public <T> IdempotentResult<T> execute(String userId, String key, String fingerprint, Class<T> type, Supplier<T> action) {
+        if (key == null) {
+            return new IdempotentResult<>(action.get(), false);
+        }
+        String id = IdempotencyKeys.id(userId, key);
+        IdempotencyCache.Entry cached = cache.get(id);
+        if (cached != null) {
+            return IdempotencyKeys.replay(cached, fingerprint, type);
+        }
+        try {
+            mongoTemplate.insert(IdempotencyRecord.pending(id, userId, fingerprint));
+        } catch (DuplicateKeyException e) {
+            return replayStored(id, fingerprint, type);
+        }
+
+        T body;
+        try {
+            body = action.get();
+        } catch (RuntimeException e) {
+            if (IdempotencyKeys.releasesKey(e)) {
+                mongoTemplate.remove(IdempotencyKeys.byId(id), IdempotencyRecord.class);
+            }
+            throw e;
+        }
+        try {
+            mongoTemplate.updateFirst(IdempotencyKeys.byId(id),
+                    IdempotencyKeys.completed(IdempotencyKeys.toJson(objectMapper, body)), IdempotencyRecord.class);
+        } catch (RuntimeException e) {
+            // Операция уже выполнена — ответ отдаём; повторы с этим ключом получат 409 до истечения записи
+            log.error("Idempotency: failed to store response for key {}", id, e);
+            return new IdempotentResult<>(body, false);
+        }
+        cache.put(id, fingerprint, body);
+        return new IdempotentResult<>(body, false);
+    }
+
+    private <T> IdempotentResult<T> replayStored(String id, String fingerprint, Class<T> type) {
+        IdempotencyRecord record = mongoTemplate.findById(id, IdempotencyRecord.class);
+        if (record == null || !IdempotencyRecord.COMPLETED.equals(record.getStatus())) {
+            throw IdempotencyKeys.inProgress();
+        }
+        T body = IdempotencyKeys.fromJson(objectMapper, record.getResponse(), type);
+        cache.put(id, record.getFingerprint(), body);
+        return IdempotencyKeys.replay(new IdempotencyCache.Entry(record.getFingerprint(), body), fingerprint, type);
+    }
+}
@@ -0,0 +1,5 @@
+package com.cryptowallet.idempotency;
+
+// Результат запроса с Idempotency-Key: replayed — ответ повторён без повторного выполнения
+public record IdempotentResult<T>(T body, boolean replayed) {
+}
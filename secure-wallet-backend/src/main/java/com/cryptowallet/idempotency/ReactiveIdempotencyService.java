@@ -0,0 +1,74 @@
+package com.cryptowallet.idempotency;
+
+import com.cryptowallet.entity.IdempotencyRecord;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+// Реактивный вариант IdempotencyService (профиль reactive): тот же порядок шагов и та же коллекция
+@Service
+@Profile("reactive")
+public class ReactiveIdempotencyService {
+    private static final Logger log = LoggerFactory.getLogger(ReactiveIdempotencyService.class);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyCache cache;
+
+    public ReactiveIdempotencyService(ReactiveMongoTemplate mongoTemplate, ObjectMapper objectMapper, IdempotencyCache cache) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.cache = cache;
+    }
+
+    public <T> Mono<IdempotentResult<T>> execute(String userId, String key, String fingerprint, Class<T> type,
+                                                 Supplier<Mono<T>> action) {
+        if (key == null) {
+            return Mono.defer(action).map(body -> new IdempotentResult<>(body, false));
+        }
+        return Mono.fromSupplier(() -> IdempotencyKeys.id(userId, key)).flatMap(id -> {
+            IdempotencyCache.Entry cached = cache.get(id);
+            if (cached != null) {
+                return Mono.fromSupplier(() -> IdempotencyKeys.replay(cached, fingerprint, type));
+            }
+            // Дубликат ловится только на вставке pending-записи, а не в самом действии
+            return mongoTemplate.insert(IdempotencyRecord.pending(id, userId, fingerprint))
+                    .map(inserted -> true)
+                    .onErrorResume(DuplicateKeyException.class, e -> Mono.just(false))
+                    .flatMap(inserted -> inserted ? run(id, fingerprint, action) : replayStored(id, fingerprint, type));
+        });
+    }
+
+    private <T> Mono<IdempotentResult<T>> run(String id, String fingerprint, Supplier<Mono<T>> action) {
+        return Mono.defer(action)
+                .onErrorResume(e -> IdempotencyKeys.releasesKey(e)
+                        ? mongoTemplate.remove(IdempotencyKeys.byId(id), IdempotencyRecord.class).then(Mono.error(e))
+                        : Mono.error(e))
+                .flatMap(body -> mongoTemplate.updateFirst(IdempotencyKeys.byId(id),
+                                IdempotencyKeys.completed(IdempotencyKeys.toJson(objectMapper, body)), IdempotencyRecord.class)
+                        .doOnSuccess(result -> cache.put(id, fingerprint, body))
+                        .onErrorResume(e -> {
+                            log.error("Idempotency: failed to store response for key {}", id, e);
+                            return Mono.empty();
+                        })
+                        .thenReturn(new IdempotentResult<>(body, false)));
+    }
+
+    private <T> Mono<IdempotentResult<T>> replayStored(String id, String fingerprint, Class<T> type) {
+        return mongoTemplate.findById(id, IdempotencyRecord.class)
+                .filter(record -> IdempotencyRecord.COMPLETED.equals(record.getStatus()))
+                .switchIfEmpty(Mono.error(IdempotencyKeys::inProgress))
+                .map(record -> {
+                    T body = IdempotencyKeys.fromJson(objectMapper, record.getResponse(), type);
+                    cache.put(id, record.getFingerprint(), body);
+                    return IdempotencyKeys.replay(new IdempotencyCache.Entry(record.getFingerprint(), body), fingerprint, type);
+                });
+    }
+}
@@ -0,0 +1,64 @@
+package com.cryptowallet.ledger;
+
+import com.cryptowallet.entity.Wallet;
+import com.cryptowallet.money.Money;
+import com.cryptowallet.repository.LedgerRepository;
+import com.cryptowallet.repository.WalletRepository;
+import com.cryptowallet.repository.WalletStripeRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Точный баланс кошельков с журналом и с полосами: снимок Wallet.balance плюс несвёрнутые записи журнала
+// или сумма полос. Всё читается в одной транзакции Mongo: компакция и выравнивание полос переносят суммы
+// между документами, и чтение вне транзакции могло бы посчитать перенос дважды или не посчитать вовсе
+@Component
+public class ExactBalances {
+    private final WalletRepository walletRepository;
+    private final LedgerRepository ledgerRepository;
+    private final WalletStripeRepository stripeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public ExactBalances(WalletRepository walletRepository,
+                         LedgerRepository ledgerRepository,
+                         WalletStripeRepository stripeRepository,
+                         TransactionTemplate transactionTemplate) {
+        this.walletRepository = walletRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.stripeRepository = stripeRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // Точный баланс одного кошелька; null — кошелёк уже удалён
+    Money of(Wallet wallet) {
+        return read(wallet.isLedger() ? List.of(wallet.getId()) : List.of(),
+                wallet.isLedger() ? List.of() : List.of(wallet.getId()))
+                .get(wallet.getId());
+    }
+
+    Map<String, Money> read(Collection<String> ledgerIds, Collection<String> stripedIds) {
+        Set<String> walletIds = new HashSet<>(ledgerIds);
+        walletIds.addAll(stripedIds);
+        return transactionTemplate.execute(status -> {
+            Map<String, Money> outstanding = ledgerIds.isEmpty() ? Map.of() : ledgerRepository.outstanding(ledgerIds);
+            Map<String, Money> stripes = stripedIds.isEmpty() ? Map.of() : stripeRepository.totals(stripedIds);
+            Map<String, Money> balances = new HashMap<>(walletIds.size() * 2);
+            for (Wallet snapshot : walletRepository.findAllById(walletIds)) {
+                Money rest = outstanding.getOrDefault(snapshot.getId(), Money.ZERO)
+                        .add(stripes.getOrDefault(snapshot.getId(), Money.ZERO));
+                balances.put(snapshot.getId(), balance(snapshot.getBalance(), rest));
+            }
+            return balances;
+        });
+    }
+
+    static Money balance(Money snapshot, Money rest) {
+        return (snapshot != null ? snapshot : Money.ZERO).add(rest);
+    }
+}
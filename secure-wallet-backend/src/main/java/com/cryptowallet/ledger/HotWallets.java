@@ -0,0 +1,108 @@
+package com.cryptowallet.ledger;
+
+import com.cryptowallet.entity.Wallet;
+import com.cryptowallet.money.CurrencyScales;
+import com.cryptowallet.money.Money;
+import com.cryptowallet.repository.WalletRepository;
+import com.cryptowallet.repository.WalletView;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Кошельки, баланс которых не держится одним документом: с журналом (Wallet.ledger, WalletLedger) и с полосами
+// (Wallet.stripes, WalletStripes). Обычное атомарное списание (WalletQueries.debitable) их не пропускает —
+// сервисы переходят сюда, и режим выбирается по уже прочитанному кошельку. Если заданы оба, действует журнал
+@Service
+public class HotWallets {
+    private final WalletRepository walletRepository;
+    private final WalletLedger walletLedger;
+    private final WalletStripes walletStripes;
+    private final ExactBalances exactBalances;
+
+    public HotWallets(WalletRepository walletRepository,
+                      WalletLedger walletLedger,
+                      WalletStripes walletStripes,
+                      ExactBalances exactBalances) {
+        this.walletRepository = walletRepository;
+        this.walletLedger = walletLedger;
+        this.walletStripes = walletStripes;
+        this.exactBalances = exactBalances;
+    }
+
+    // Пусто — кошелёк не найден, обычный, чужой, сумма точнее валюты или баланса не хватает:
+    // причину, как и для обычного списания, выясняет вызывающий
+    public Optional<Wallet> debit(String walletId, String userId, Money amount) {
+        return debit(walletId, userId, amount, null);
+    }
+
+    // symbol != null — для внутреннего перевода: валюта кошелька должна совпадать с валютой получателя
+    public Optional<Wallet> debit(String walletId, String userId, Money amount, String symbol) {
+        return walletRepository.findById(walletId)
+                .filter(wallet -> accepts(wallet, userId, amount, symbol))
+                .flatMap(wallet -> wallet.isLedger()
+                        ? walletLedger.debit(wallet, amount)
+                        : walletStripes.debit(wallet, amount));
+    }
+
+    // Зачисление (или возврат списанного) в кошелёк любого режима; false — обычного кошелька нет
+    public boolean credit(Wallet wallet, Money amount) {
+        if (wallet.isLedger()) {
+            walletLedger.credit(wallet.getId(), amount);
+            return true;
+        }
+        if (isStriped(wallet)) {
+            walletStripes.credit(wallet, amount);
+            return true;
+        }
+        return walletRepository.credit(wallet.getId(), amount);
+    }
+
+    public Wallet withExactBalance(Wallet wallet) {
+        if (isHot(wallet)) {
+            Money balance = exactBalances.of(wallet);
+            if (balance != null) {
+                wallet.setBalance(balance);
+            }
+        }
+        return wallet;
+    }
+
+    // Точные балансы «горячих» кошельков из списка; для обычных — пусто, у них верен balance из проекции
+    public Map<String, Money> exactBalances(List<WalletView> wallets) {
+        List<String> ledgerIds = new ArrayList<>();
+        List<String> stripedIds = new ArrayList<>();
+        collect(wallets, ledgerIds, stripedIds);
+        if (ledgerIds.isEmpty() && stripedIds.isEmpty()) {
+            return Map.of();
+        }
+        return exactBalances.read(ledgerIds, stripedIds);
+    }
+
+    static void collect(List<WalletView> wallets, List<String> ledgerIds, List<String> stripedIds) {
+        for (WalletView wallet : wallets) {
+            if (Boolean.TRUE.equals(wallet.getLedger())) {
+                ledgerIds.add(wallet.getId());
+            } else if (wallet.getStripes() != null && wallet.getStripes() > 0) {
+                stripedIds.add(wallet.getId());
+            }
+        }
+    }
+
+    static boolean accepts(Wallet wallet, String userId, Money amount, String symbol) {
+        return isHot(wallet)
+                && userId.equals(wallet.getUserId())
+                && CurrencyScales.allows(wallet.getSymbol(), amount)
+                && (symbol == null || symbol.equals(wallet.getSymbol()));
+    }
+
+    static boolean isHot(Wallet wallet) {
+        return wallet.isLedger() || isStriped(wallet);
+    }
+
+    static boolean isStriped(Wallet wallet) {
+        return wallet.getStripes() != null && wallet.getStripes() > 0;
+    }
+}
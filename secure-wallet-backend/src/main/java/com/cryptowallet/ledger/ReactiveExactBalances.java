@@ -0,0 +1,56 @@
+package com.cryptowallet.ledger;
+
+import com.cryptowallet.entity.Wallet;
+import com.cryptowallet.money.Money;
+import com.cryptowallet.repository.ReactiveLedgerRepository;
+import com.cryptowallet.repository.ReactiveWalletRepository;
+import com.cryptowallet.repository.ReactiveWalletStripeRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Реактивный вариант ExactBalances: те же чтения в одной транзакции через TransactionalOperator
+@Component
+@Profile("reactive")
+public class ReactiveExactBalances {
+    private final ReactiveWalletRepository walletRepository;
+    private final ReactiveLedgerRepository ledgerRepository;
+    private final ReactiveWalletStripeRepository stripeRepository;
+    private final TransactionalOperator transactionalOperator;
+
+    public ReactiveExactBalances(ReactiveWalletRepository walletRepository,
+                                 ReactiveLedgerRepository ledgerRepository,
+                                 ReactiveWalletStripeRepository stripeRepository,
+                                 TransactionalOperator transactionalOperator) {
+        this.walletRepository = walletRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.stripeRepository = stripeRepository;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    // Пустой Mono — кошелёк уже удалён
+    Mono<Money> of(Wallet wallet) {
+        return read(wallet.isLedger() ? List.of(wallet.getId()) : List.of(),
+                wallet.isLedger() ? List.of() : List.of(wallet.getId()))
+                .mapNotNull(balances -> balances.get(wallet.getId()));
+    }
+
+    Mono<Map<String, Money>> read(Collection<String> ledgerIds, Collection<String> stripedIds) {
+        Set<String> walletIds = new HashSet<>(ledgerIds);
+        walletIds.addAll(stripedIds);
+        Mono<Map<String, Money>> outstanding = ledgerIds.isEmpty() ? Mono.just(Map.of()) : ledgerRepository.outstanding(ledgerIds);
+        Mono<Map<String, Money>> stripes = stripedIds.isEmpty() ? Mono.just(Map.of()) : stripeRepository.totals(stripedIds);
+        return transactionalOperator.transactional(Mono.zip(outstanding, stripes)
+                .flatMap(rests -> walletRepository.findAllById(walletIds)
+                        .collectMap(Wallet::getId, snapshot -> ExactBalances.balance(snapshot.getBalance(),
+                                rests.getT1().getOrDefault(snapshot.getId(), Money.ZERO)
+                                        .add(rests.getT2().getOrDefault(snapshot.getId(), Money.ZERO))))));
+    }
+}
@@ -0,0 +1,65 @@
+package com.cryptowallet.ledger;
+
+import com.cryptowallet.entity.Wallet;
+import com.cryptowallet.money.Money;
+import com.cryptowallet.repository.ReactiveWalletRepository;
+import com.cryptowallet.repository.WalletView;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Реактивный вариант HotWallets
+@Service
+@Profile("reactive")
+public class ReactiveHotWallets {
+    private final ReactiveWalletRepository walletRepository;
+    private final ReactiveWalletLedger walletLedger;
+    private final ReactiveWalletStripes walletStripes;
+    private final ReactiveExactBalances exactBalances;
+
+    public ReactiveHotWallets(ReactiveWalletRepository walletRepository,
+                              ReactiveWalletLedger walletLedger,
+                              ReactiveWalletStripes walletStripes,
+                              ReactiveExactBalances exactBalances) {
+        this.walletRepository = walletRepository;
+        this.walletLedger = walletLedger;
+        this.walletStripes = walletStripes;
+        this.exactBalances = exactBalances;
+    }
+
+    public Mono<Wallet> debit(String walletId, String userId, Money amount) {
+        return debit(walletId, userId, amount, null);
+    }
+
+    public Mono<Wallet> debit(String walletId, String userId, Money amount, String symbol) {
+        return walletRepository.findById(walletId)
+                .filter(wallet -> HotWallets.accepts(wallet, userId, amount, symbol))
+                .flatMap(wallet -> wallet.isLedger()
+                        ? walletLedger.debit(wallet, amount)
+                        : walletStripes.debit(wallet, amount));
+    }
+
+    public Mono<Boolean> credit(Wallet wallet, Money amount) {
+        if (wallet.isLedger()) {
+            return walletLedger.credit(wallet.getId(), amount).thenReturn(true);
+        }
+        if (HotWallets.isStriped(wallet)) {
+            return walletStripes.credit(wallet, amount).thenReturn(true);
+        }
+        return walletRepository.credit(wallet.getId(), amount);
+    }
+
+    public Mono<Map<String, Money>> exactBalances(List<WalletView> wallets) {
+        List<String> ledgerIds = new ArrayList<>();
+        List<String> stripedIds = new ArrayList<>();
+        HotWallets.collect(wallets, ledgerIds, stripedIds);
+        if (ledgerIds.isEmpty() && stripedIds.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return exactBalances.read(ledgerIds, stripedIds);
+    }
+}
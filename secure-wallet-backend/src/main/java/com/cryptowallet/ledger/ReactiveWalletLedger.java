@@ -0,0 +1,37 @@
+package com.cryptowallet.ledger;
+
+import com.cryptowallet.entity.LedgerEntry;
+import com.cryptowallet.entity.Wallet;
+import com.cryptowallet.money.Money;
+import com.cryptowallet.repository.ReactiveLedgerRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+// Реактивный вариант WalletLedger: тот же протокол «вставка, затем проверка точного баланса»
+@Component
+@Profile("reactive")
+public class ReactiveWalletLedger {
+    private final ReactiveLedgerRepository ledgerRepository;
+    private final ReactiveExactBalances exactBalances;
+
+    public ReactiveWalletLedger(ReactiveLedgerRepository ledgerRepository, ReactiveExactBalances exactBalances) {
+        this.ledgerRepository = ledgerRepository;
+        this.exactBalances = exactBalances;
+    }
+
+    Mono<Wallet> debit(Wallet wallet, Money amount) {
+        return ledgerRepository.insert(LedgerEntry.of(wallet.getId(), amount.negate()))
+                .then(exactBalances.of(wallet))
+                .filter(balance -> balance.signum() >= 0)
+                .map(balance -> {
+                    wallet.setBalance(balance);
+                    return wallet;
+                })
+                .switchIfEmpty(Mono.defer(() -> credit(wallet.getId(), amount).then(Mono.empty())));
+    }
+
+    Mono<Void> credit(String walletId, Money amount) {
+        return ledgerRepository.insert(LedgerEntry.of(walletId, amount)).then();
+    }
+}
@@ -0,0 +1,71 @@
+package com.cryptowallet.ledger;
+
+import com.cryptowallet.entity.Wallet;
+import com.cryptowallet.entity.WalletStripe;
+import com.cryptowallet.money.Money;
+import com.cryptowallet.repository.ReactiveWalletStripeRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Реактивный вариант WalletStripes: случайная полоса, при нехватке — сбор суммы с самых полных полос
+@Component
+@Profile("reactive")
+public class ReactiveWalletStripes {
+    private final ReactiveWalletStripeRepository stripeRepository;
+
+    public ReactiveWalletStripes(ReactiveWalletStripeRepository stripeRepository) {
+        this.stripeRepository = stripeRepository;
+    }
+
+    Mono<Wallet> debit(Wallet wallet, Money amount) {
+        return stripeRepository.debit(wallet.getId(), WalletStripes.randomStripe(wallet), amount)
+                .flatMap(debited -> debited ? Mono.just(true) : gather(wallet.getId(), amount))
+                .flatMap(debited -> debited ? Mono.just(wallet) : Mono.empty());
+    }
+
+    private Mono<Boolean> gather(String walletId, Money amount) {
+        List<WalletStripe> taken = new ArrayList<>();
+        return stripeRepository.findByWalletId(walletId)
+                .sort(WalletStripes.FULLEST_FIRST)
+                .collectList()
+                .flatMap(stripes -> take(walletId, stripes, 0, amount, taken))
+                .flatMap(remaining -> remaining.signum() <= 0
+                        ? Mono.just(true)
+                        : reverse(walletId, taken).thenReturn(false));
+    }
+
+    // Части списываются по очереди, начиная с самых полных полос; возвращает несобранный остаток
+    private Mono<Money> take(String walletId, List<WalletStripe> stripes, int index, Money remaining, List<WalletStripe> taken) {
+        if (remaining.signum() <= 0 || index == stripes.size()) {
+            return Mono.just(remaining);
+        }
+        WalletStripe stripe = stripes.get(index);
+        Money part = WalletStripes.part(stripe, remaining);
+        if (part.signum() <= 0) {
+            return take(walletId, stripes, index + 1, remaining, taken);
+        }
+        return stripeRepository.debit(walletId, stripe.getStripe(), part).flatMap(debited -> {
+            if (!debited) {
+                return take(walletId, stripes, index + 1, remaining, taken);
+            }
+            taken.add(new WalletStripe(stripe.getId(), walletId, stripe.getStripe(), part));
+            return take(walletId, stripes, index + 1, remaining.subtract(part), taken);
+        });
+    }
+
+    private Mono<Void> reverse(String walletId, List<WalletStripe> taken) {
+        Mono<Void> reversed = Mono.empty();
+        for (WalletStripe part : taken) {
+            reversed = reversed.then(stripeRepository.credit(walletId, part.getStripe(), part.getBalance()));
+        }
+        return reversed;
+    }
+
+    Mono<Void> credit(Wallet wallet, Money amount) {
+        return stripeRepository.credit(wallet.getId(), WalletStripes.randomStripe(wallet), amount);
+    }
+}
@@ -0,0 +1,41 @@
+package com.cryptowallet.ledger;
+
+import com.cryptowallet.entity.LedgerEntry;
+import com.cryptowallet.entity.Wallet;
+import com.cryptowallet.money.Money;
+import com.cryptowallet.repository.LedgerRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+// Баланс кошельков с журналом (Wallet.ledger): снимок Wallet.balance плюс несвёрнутые записи wallet_ledger.
+// Зачисление — одна вставка. Списание — вставка отрицательной записи и проверка точного баланса, прочитанного
+// уже после неё: из двух конкурентных списаний позднее читающее видит оба и при нехватке отменяет себя встречной
+// записью. Перерасхода нет; под гонкой возможен лишний отказ, который клиент повторяет
+@Component
+public class WalletLedger {
+    private final LedgerRepository ledgerRepository;
+    private final ExactBalances exactBalances;
+
+    public WalletLedger(LedgerRepository ledgerRepository, ExactBalances exactBalances) {
+        this.ledgerRepository = ledgerRepository;
+        this.exactBalances = exactBalances;
+    }
+
+    // Кошелёк возвращается с точным балансом после списания; пусто — баланса не хватило
+    Optional<Wallet> debit(Wallet wallet, Money amount) {
+        ledgerRepository.insert(LedgerEntry.of(wallet.getId(), amount.negate()));
+        Money balance = exactBalances.of(wallet);
+        if (balance == null || balance.signum() < 0) {
+            credit(wallet.getId(), amount);
+            return Optional.empty();
+        }
+        wallet.setBalance(balance);
+        return Optional.of(wallet);
+    }
+
+    // Зачисление или отмена списания. Внутри транзакции Mongo вставка становится её частью
+    void credit(String walletId, Money amount) {
+        ledgerRepository.insert(LedgerEntry.of(walletId, amount));
+    }
+}
@@ -0,0 +1,102 @@
+package com.cryptowallet.ledger;
+
+import com.cryptowallet.entity.LedgerEntry;
+import com.cryptowallet.money.Money;
+import com.cryptowallet.repository.LedgerRepository;
+import com.cryptowallet.repository.WalletRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+// Фоновая компакция журнала: записи кошелька сворачиваются в Wallet.balance ($inc суммы) и удаляются —
+// в одной транзакции Mongo, так что точный баланс (WalletLedger) не меняется ни в какой момент.
+// Новые вставки транзакции не мешают: она трогает только прочитанные записи и сам документ кошелька.
+// Работает на обоих стеках (блокирующий MongoTemplate есть и под reactive); с несколькими экземплярами
+// сервиса конфликт записи по кошельку просто откатывает одну из компакций до следующего прохода
+@Component
+public class WalletLedgerCompactor implements SchedulingConfigurer {
+    private static final Logger log = LoggerFactory.getLogger(WalletLedgerCompactor.class);
+
+    private final WalletRepository walletRepository;
+    private final LedgerRepository ledgerRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${ledger.compaction.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ledger.compaction.interval:5s}")
+    private Duration interval;
+
+    @Value("${ledger.compaction.batch-size:1000}")
+    private int batchSize;
+
+    public WalletLedgerCompactor(WalletRepository walletRepository,
+                                 LedgerRepository ledgerRepository,
+                                 TransactionTemplate transactionTemplate) {
+        this.walletRepository = walletRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // Следующий проход — через interval после окончания предыдущего
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (enabled) {
+            registrar.addFixedDelayTask(this::run, interval);
+        }
+    }
+
+    void run() {
+        try {
+            compactAll();
+        } catch (Exception e) {
+            log.warn("Wallet ledger compaction failed, retrying in {}: {}", interval, e.getMessage());
+        }
+    }
+
+    void compactAll() {
+        for (String walletId : ledgerRepository.findWalletIds()) {
+            // Приложение останавливается: оставшиеся кошельки подождут следующего запуска
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            try {
+                int compacted;
+                // Полная пачка — возможно, есть ещё записи
+                do {
+                    compacted = compact(walletId);
+                } while (compacted == batchSize);
+            } catch (Exception e) {
+                log.warn("Wallet ledger compaction of wallet {} failed: {}", walletId, e.getMessage());
+            }
+        }
+    }
+
+    // Одна пачка самых старых записей кошелька; возвращает число свёрнутых записей
+    int compact(String walletId) {
+        Integer compacted = transactionTemplate.execute(status -> {
+            List<LedgerEntry> entries = ledgerRepository.findOldest(walletId, batchSize);
+            if (entries.isEmpty()) {
+                return 0;
+            }
+            Money total = Money.ZERO;
+            for (LedgerEntry entry : entries) {
+                total = total.add(entry.getAmount());
+            }
+            if (!walletRepository.credit(walletId, total)) {
+                log.warn("Wallet ledger has {} entries for missing wallet {}", entries.size(), walletId);
+                return 0;
+            }
+            ledgerRepository.deleteAllById(entries.stream().map(LedgerEntry::getId).toList());
+            return entries.size();
+        });
+        return compacted != null ? compacted : 0;
+    }
+}
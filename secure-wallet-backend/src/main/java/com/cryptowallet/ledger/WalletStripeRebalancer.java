@@ -0,0 +1,144 @@
+package com.cryptowallet.ledger;
+
+import com.cryptowallet.entity.Wallet;
+import com.cryptowallet.entity.WalletStripe;
+import com.cryptowallet.money.CurrencyScales;
+import com.cryptowallet.money.Money;
+import com.cryptowallet.repository.WalletRepository;
+import com.cryptowallet.repository.WalletStripeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+// Фоновое выравнивание полос: если какая-то полоса опустилась ниже low-water-percent от своей доли, сумма кошелька
+// заново делится поровну между K полосами. Туда же переносится остаток Wallet.balance и полосы с номером >= K —
+// так включается (или меняется) режим полос: достаточно выставить stripes на документе кошелька.
+// Всё в одной транзакции Mongo, точный баланс (ExactBalances) не меняется; конфликт записи с конкурентным
+// списанием откатывает выравнивание до следующего прохода
+@Component
+public class WalletStripeRebalancer implements SchedulingConfigurer {
+    private static final Logger log = LoggerFactory.getLogger(WalletStripeRebalancer.class);
+
+    private final WalletRepository walletRepository;
+    private final WalletStripeRepository stripeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${stripes.rebalance.enabled:true}")
+    private boolean enabled;
+
+    @Value("${stripes.rebalance.interval:5s}")
+    private Duration interval;
+
+    @Value("${stripes.rebalance.low-water-percent:25}")
+    private int lowWaterPercent;
+
+    public WalletStripeRebalancer(WalletRepository walletRepository,
+                                  WalletStripeRepository stripeRepository,
+                                  TransactionTemplate transactionTemplate) {
+        this.walletRepository = walletRepository;
+        this.stripeRepository = stripeRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // Следующий проход — через interval после окончания предыдущего
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (enabled) {
+            registrar.addFixedDelayTask(this::run, interval);
+        }
+    }
+
+    void run() {
+        try {
+            rebalanceAll();
+        } catch (Exception e) {
+            log.warn("Wallet stripe rebalancing failed, retrying in {}: {}", interval, e.getMessage());
+        }
+    }
+
+    void rebalanceAll() {
+        for (Wallet wallet : walletRepository.findByStripesGreaterThan(0)) {
+            // Приложение останавливается: оставшиеся кошельки подождут следующего запуска
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            try {
+                rebalance(wallet.getId());
+            } catch (Exception e) {
+                log.warn("Wallet stripe rebalancing of wallet {} failed: {}", wallet.getId(), e.getMessage());
+            }
+        }
+    }
+
+    // true — полосы кошелька были перераспределены
+    boolean rebalance(String walletId) {
+        Boolean rebalanced = transactionTemplate.execute(status -> {
+            Wallet wallet = walletRepository.findById(walletId).orElse(null);
+            if (wallet == null || wallet.isLedger() || !HotWallets.isStriped(wallet)) {
+                return false;
+            }
+            return rebalance(wallet, stripeRepository.findByWalletId(walletId));
+        });
+        return Boolean.TRUE.equals(rebalanced);
+    }
+
+    private boolean rebalance(Wallet wallet, List<WalletStripe> stripes) {
+        int count = wallet.getStripes();
+        Money residual = wallet.getBalance() != null ? wallet.getBalance() : Money.ZERO;
+        // Общая точность: не меньше точности валюты и каждой из сумм, чтобы деление не теряло единиц
+        int scale = Math.max(CurrencyScales.of(wallet.getSymbol()), residual.scale());
+        for (WalletStripe stripe : stripes) {
+            if (stripe.getBalance() != null) {
+                scale = Math.max(scale, stripe.getBalance().scale());
+            }
+        }
+        long[] current = new long[count];
+        long total = residual.toMinor(scale);
+        boolean inactive = false;
+        for (WalletStripe stripe : stripes) {
+            long units = stripe.getBalance() != null ? stripe.getBalance().toMinor(scale) : 0;
+            total = Math.addExact(total, units);
+            if (stripe.getStripe() >= 0 && stripe.getStripe() < count) {
+                current[stripe.getStripe()] = units;
+            } else if (units != 0) {
+                inactive = true;
+            }
+        }
+        if (total < 0) {
+            log.warn("Striped wallet {} has negative total balance, skipping", wallet.getId());
+            return false;
+        }
+        // Доли: total / K, остаток от деления — по одной единице первым полосам
+        long[] target = new long[count];
+        boolean low = false;
+        for (int i = 0; i < count; i++) {
+            target[i] = total / count + (i < total % count ? 1 : 0);
+            low |= current[i] < target[i] * lowWaterPercent / 100;
+        }
+        if (!low && !inactive && residual.signum() == 0) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            if (target[i] != current[i]) {
+                stripeRepository.credit(wallet.getId(), i, Money.ofMinor(target[i] - current[i], scale));
+            }
+        }
+        for (WalletStripe stripe : stripes) {
+            boolean active = stripe.getStripe() >= 0 && stripe.getStripe() < count;
+            if (!active && stripe.getBalance() != null && stripe.getBalance().signum() != 0) {
+                stripeRepository.credit(wallet.getId(), stripe.getStripe(), stripe.getBalance().negate());
+            }
+        }
+        if (residual.signum() != 0) {
+            walletRepository.credit(wallet.getId(), residual.negate());
+        }
+        return true;
+    }
+}
@@ -0,0 +1,77 @@
+package com.cryptowallet.ledger;
+
+import com.cryptowallet.entity.Wallet;
+import com.cryptowallet.entity.WalletStripe;
+import com.cryptowallet.money.Money;
+import com.cryptowallet.repository.WalletStripeRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Баланс кошельков с полосами (Wallet.stripes = K): списание — $inc с условием balance >= amount по случайной
+// полосе, так что конкурентные списания расходятся по K документам. Если на выбранной полосе не хватает,
+// сумма собирается с нескольких полос; равномерность между полосами поддерживает WalletStripeRebalancer
+@Component
+public class WalletStripes {
+    static final Comparator<WalletStripe> FULLEST_FIRST =
+            Comparator.comparing(WalletStripe::getBalance, Comparator.nullsFirst(Comparator.<Money>naturalOrder())).reversed();
+
+    private final WalletStripeRepository stripeRepository;
+
+    public WalletStripes(WalletStripeRepository stripeRepository) {
+        this.stripeRepository = stripeRepository;
+    }
+
+    Optional<Wallet> debit(Wallet wallet, Money amount) {
+        if (stripeRepository.debit(wallet.getId(), randomStripe(wallet), amount) || gather(wallet.getId(), amount)) {
+            return Optional.of(wallet);
+        }
+        return Optional.empty();
+    }
+
+    // Сумма собирается частями, начиная с самых полных полос; каждая часть — тот же $inc с условием.
+    // Не набралось (баланса не хватает или полосы успели опустеть) — взятое возвращается на свои полосы
+    private boolean gather(String walletId, Money amount) {
+        List<WalletStripe> stripes = new ArrayList<>(stripeRepository.findByWalletId(walletId));
+        stripes.sort(FULLEST_FIRST);
+        List<WalletStripe> taken = new ArrayList<>();
+        Money remaining = amount;
+        for (WalletStripe stripe : stripes) {
+            if (remaining.signum() <= 0) {
+                break;
+            }
+            Money take = part(stripe, remaining);
+            if (take.signum() > 0 && stripeRepository.debit(walletId, stripe.getStripe(), take)) {
+                taken.add(new WalletStripe(stripe.getId(), walletId, stripe.getStripe(), take));
+                remaining = remaining.subtract(take);
+            }
+        }
+        if (remaining.signum() > 0) {
+            for (WalletStripe part : taken) {
+                stripeRepository.credit(walletId, part.getStripe(), part.getBalance());
+            }
+            return false;
+        }
+        return true;
+    }
+
+    void credit(Wallet wallet, Money amount) {
+        stripeRepository.credit(wallet.getId(), randomStripe(wallet), amount);
+    }
+
+    static int randomStripe(Wallet wallet) {
+        return ThreadLocalRandom.current().nextInt(wallet.getStripes());
+    }
+
+    static Money part(WalletStripe stripe, Money remaining) {
+        Money balance = stripe.getBalance();
+        if (balance == null || balance.signum() <= 0) {
+            return Money.ZERO;
+        }
+        return balance.compareTo(remaining) < 0 ? balance : remaining;
+    }
+}
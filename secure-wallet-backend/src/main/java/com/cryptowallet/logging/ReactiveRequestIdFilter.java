@@ -0,0 +1,27 @@
+package com.cryptowallet.logging;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+// Реактивный аналог RequestIdFilter. MDC привязан к потоку, поэтому идентификаторы хранятся в атрибутах
+// обмена; блокирующие участки (AuthHandler) выставляют MDC сами через RequestIds.withMdc.
+@Component
+@Profile("reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReactiveRequestIdFilter implements WebFilter {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        RequestIds ids = RequestIds.from(exchange.getRequest().getHeaders().getFirst(RequestIds.REQUEST_ID_HEADER),
+                exchange.getRequest().getHeaders().getFirst(RequestIds.TRACEPARENT_HEADER));
+        exchange.getAttributes().put(RequestIds.EXCHANGE_ATTRIBUTE, ids);
+        exchange.getResponse().getHeaders().set(RequestIds.REQUEST_ID_HEADER, ids.requestId());
+        return chain.filter(exchange);
+    }
+}
@@ -0,0 +1,34 @@
+package com.cryptowallet.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Первый фильтр цепочки: всё, что логируется при обработке запроса (включая безопасность), несёт его requestId
+@Component
+@Profile("!reactive")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestIdFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestIds ids = RequestIds.from(request.getHeader(RequestIds.REQUEST_ID_HEADER),
+                request.getHeader(RequestIds.TRACEPARENT_HEADER));
+        ids.putMdc();
+        response.setHeader(RequestIds.REQUEST_ID_HEADER, ids.requestId());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestIds.clearMdc();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.cryptowallet.logging;
+
+import org.slf4j.MDC;
+
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+// Идентификаторы запроса для логов: requestId (из X-Request-Id или новый) и traceId (из W3C traceparent,
+// иначе совпадает с requestId). Оба кладутся в MDC и попадают в каждое JSON-событие.
+public final class RequestIds {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+    public static final String TRACEPARENT_HEADER = "traceparent";
+    public static final String REQUEST_ID_MDC = "requestId";
+    public static final String TRACE_ID_MDC = "traceId";
+    public static final String EXCHANGE_ATTRIBUTE = RequestIds.class.getName();
+
+    // Чужой заголовок попадает в логи как есть — принимаем только короткие безопасные значения
+    private static final Pattern SAFE_REQUEST_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    private static final Pattern TRACEPARENT = Pattern.compile("[0-9a-f]{2}-([0-9a-f]{32})-[0-9a-f]{16}-[0-9a-f]{2}");
+
+    private final String requestId;
+    private final String traceId;
+
+    private RequestIds(String requestId, String traceId) {
+        this.requestId = requestId;
+        this.traceId = traceId;
+    }
+
+    public static RequestIds from(String requestIdHeader, String traceparentHeader) {
+        String requestId = requestIdHeader != null && SAFE_REQUEST_ID.matcher(requestIdHeader).matches()
+                ? requestIdHeader
+                : UUID.randomUUID().toString();
+        String traceId = requestId;
+        if (traceparentHeader != null) {
+            var matcher = TRACEPARENT.matcher(traceparentHeader);
+            if (matcher.matches()) {
+                traceId = matcher.group(1);
+            }
+        }
+        return new RequestIds(requestId, traceId);
+    }
+
+    public String requestId() {
+        return requestId;
+    }
+
+    public String traceId() {
+        return traceId;
+    }
+
+    public void putMdc() {
+        MDC.put(REQUEST_ID_MDC, requestId);
+        MDC.put(TRACE_ID_MDC, traceId);
+    }
+
+    public static void clearMdc() {
+        MDC.remove(REQUEST_ID_MDC);
+        MDC.remove(TRACE_ID_MDC);
+    }
+
+    // Для кода, который выполняется на чужом потоке (boundedElastic в реактивном стеке)
+    public <T> T withMdc(Supplier<T> call) {
+        putMdc();
+        try {
+            return call.get();
+        } finally {
+            clearMdc();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.cryptowallet.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Выборочное логирование успешных путей: для перечисленных логгеров (имя или префикс пакета) пропускается
+// в среднем одно событие уровня INFO и ниже из keepOneIn. WARN/ERROR не трогаются никогда.
+// TurboFilter срабатывает до создания события и форматирования сообщения, так что отброшенная запись почти бесплатна.
+public class SamplingTurboFilter extends TurboFilter {
+
+    private final List<String> loggers = new ArrayList<>();
+    private int keepOneIn = 1;
+
+    // Через запятую, как задаётся в logback-spring.xml
+    public void setLoggers(String loggers) {
+        this.loggers.clear();
+        for (String name : loggers.split(",")) {
+            if (!name.isBlank()) {
+                this.loggers.add(name.trim());
+            }
+        }
+    }
+
+    public void setKeepOneIn(int keepOneIn) {
+        this.keepOneIn = keepOneIn;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format == null — это проверка isXxxEnabled(), а не запись: её не семплируем
+        if (!isStarted() || keepOneIn <= 1 || format == null || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        if (!sampled(logger.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextInt(keepOneIn) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean sampled(String loggerName) {
+        for (String name : loggers) {
+            if (loggerName.equals(name) || loggerName.startsWith(name + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,31 @@
+package com.cryptowallet.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+// Время, которое JWT-фильтр тратит на аутентификацию запроса (без последующей обработки):
+// wallet.auth.filter{stack, outcome}
+@Component
+public class AuthenticationMetrics {
+
+    static final String METRIC = "wallet.auth.filter";
+
+    private final MeterRegistry meterRegistry;
+
+    public AuthenticationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stop(Timer.Sample sample, String stack, String outcome) {
+        sample.stop(Timer.builder(METRIC)
+                .description("JWT authentication latency in the security filter")
+                .tag("stack", stack)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+}
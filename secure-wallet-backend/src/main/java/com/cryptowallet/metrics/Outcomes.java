@@ -0,0 +1,57 @@
+package com.cryptowallet.metrics;
+
+import com.cryptowallet.exception.BadCredentialsException;
+import com.cryptowallet.exception.EmailAlreadyExistsException;
+import com.cryptowallet.exception.HashingCapacityExceededException;
+import com.cryptowallet.exception.InsufficientBalanceException;
+import com.cryptowallet.exception.InvalidAmountException;
+import com.cryptowallet.exception.InvalidBatchException;
+import com.cryptowallet.exception.InvalidCursorException;
+import com.cryptowallet.exception.TransferNotAllowedException;
+import com.cryptowallet.exception.UserNotFoundException;
+import com.cryptowallet.exception.UsernameAlreadyExistsException;
+import com.cryptowallet.exception.WalletAccessDeniedException;
+import com.cryptowallet.exception.WalletNotFoundException;
+
+// Значения тега outcome: небольшой фиксированный набор, чтобы не раздувать число временных рядов
+public final class Outcomes {
+
+    public static final String SUCCESS = "success";
+    public static final String INSUFFICIENT_BALANCE = "insufficient_balance";
+    public static final String UNAUTHORIZED = "unauthorized";
+    public static final String NOT_FOUND = "not_found";
+    public static final String CONFLICT = "conflict";
+    public static final String INVALID_REQUEST = "invalid_request";
+    public static final String BUSY = "busy";
+    public static final String ERROR = "error";
+
+    // Только для фильтра аутентификации
+    public static final String ANONYMOUS = "anonymous";
+    public static final String INVALID_TOKEN = "invalid_token";
+
+    private Outcomes() {
+    }
+
+    public static String of(Throwable error) {
+        if (error instanceof InsufficientBalanceException) {
+            return INSUFFICIENT_BALANCE;
+        }
+        if (error instanceof WalletAccessDeniedException || error instanceof BadCredentialsException) {
+            return UNAUTHORIZED;
+        }
+        if (error instanceof WalletNotFoundException || error instanceof UserNotFoundException) {
+            return NOT_FOUND;
+        }
+        if (error instanceof UsernameAlreadyExistsException || error instanceof EmailAlreadyExistsException) {
+            return CONFLICT;
+        }
+        if (error instanceof InvalidAmountException || error instanceof InvalidCursorException
+                || error instanceof InvalidBatchException || error instanceof TransferNotAllowedException) {
+            return INVALID_REQUEST;
+        }
+        if (error instanceof HashingCapacityExceededException) {
+            return BUSY;
+        }
+        return ERROR;
+    }
+}
@@ -0,0 +1,75 @@
+package com.cryptowallet.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Таймер на каждый публичный метод сервисов: wallet.service{class, method, outcome}.
+// Для Mono/Flux замер идёт от подписки до завершения, а не до возврата из метода.
+// Stream из курсора Mongo меряется до момента открытия курсора — чтение дальше идёт в контроллере.
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    static final String METRIC = "wallet.service";
+
+    private final MeterRegistry meterRegistry;
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.cryptowallet.service..*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable error) {
+            stop(sample, className, method, Outcomes.of(error));
+            throw error;
+        }
+        if (result instanceof Mono<?> mono) {
+            return timeMono(mono, className, method);
+        }
+        if (result instanceof Flux<?> flux) {
+            return timeFlux(flux, className, method);
+        }
+        stop(sample, className, method, Outcomes.SUCCESS);
+        return result;
+    }
+
+    private Mono<?> timeMono(Mono<?> mono, String className, String method) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return mono
+                    .doOnSuccess(value -> stop(sample, className, method, Outcomes.SUCCESS))
+                    .doOnError(error -> stop(sample, className, method, Outcomes.of(error)));
+        });
+    }
+
+    private Flux<?> timeFlux(Flux<?> flux, String className, String method) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return flux
+                    .doOnComplete(() -> stop(sample, className, method, Outcomes.SUCCESS))
+                    .doOnError(error -> stop(sample, className, method, Outcomes.of(error)));
+        });
+    }
+
+    private void stop(Timer.Sample sample, String className, String method, String outcome) {
+        sample.stop(Timer.builder(METRIC)
+                .description("Service method latency")
+                .tag("class", className)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+}
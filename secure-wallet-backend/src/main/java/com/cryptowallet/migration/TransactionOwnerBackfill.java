@@ -0,0 +1,109 @@
+package com.cryptowallet.migration;
+
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Одноразовый онлайн-перенос: проставляет walletId/userId старым транзакциям, у которых есть только DBRef на кошелёк.
+// Работает в фоне после старта, батчами; идемпотентен — после рестарта продолжает с оставшихся документов.
+@Component
+public class TransactionOwnerBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionOwnerBackfill.class);
+    private static final String TRANSACTIONS = "transactions";
+    private static final String WALLETS = "wallets";
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${migration.transaction-owner-backfill.enabled:true}")
+    private boolean enabled;
+
+    @Value("${migration.transaction-owner-backfill.batch-size:500}")
+    private int batchSize;
+
+    public TransactionOwnerBackfill(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread worker = new Thread(this::run, "transaction-owner-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    void run() {
+        long migrated = 0;
+        try {
+            int processed;
+            while ((processed = migrateBatch()) > 0) {
+                migrated += processed;
+            }
+            if (migrated > 0) {
+                log.info("Transaction owner backfill finished: migrated={}", migrated);
+            }
+        } catch (Exception e) {
+            log.error("Transaction owner backfill stopped after migrated={}: {}", migrated, e.getMessage(), e);
+        }
+    }
+
+    private int migrateBatch() {
+        Query pending = new Query(Criteria.where("walletId").exists(false)).limit(batchSize);
+        pending.fields().include("wallet");
+        List<Document> transactions = mongoTemplate.find(pending, Document.class, TRANSACTIONS);
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+
+        List<String> walletIds = transactions.stream()
+                .map(tx -> referencedWalletId(tx.get("wallet")))
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<String, String> owners = new HashMap<>();
+        Query walletsQuery = new Query(Criteria.where("_id").in(walletIds));
+        walletsQuery.fields().include("userId");
+        for (Document wallet : mongoTemplate.find(walletsQuery, Document.class, WALLETS)) {
+            owners.put(wallet.getString("_id"), wallet.getString("userId"));
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TRANSACTIONS);
+        for (Document tx : transactions) {
+            String walletId = referencedWalletId(tx.get("wallet"));
+            // Битые ссылки тоже помечаем (null), иначе документ будет выбираться бесконечно
+            bulk.updateOne(
+                    new Query(Criteria.where("_id").is(tx.get("_id")).and("walletId").exists(false)),
+                    new Update().set("walletId", walletId).set("userId", walletId != null ? owners.get(walletId) : null));
+        }
+        bulk.execute();
+        return transactions.size();
+    }
+
+    private static String referencedWalletId(Object ref) {
+        if (ref instanceof DBRef dbRef) {
+            return Objects.toString(dbRef.getId(), null);
+        }
+        if (ref instanceof Document document) {
+            return Objects.toString(document.get("$id"), null);
+        }
+        return null;
+    }
+}
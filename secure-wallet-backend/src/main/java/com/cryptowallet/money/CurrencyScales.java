@@ -0,0 +1,53 @@
+package com.cryptowallet.money;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+// Точность (знаков после запятой) по символу валюты кошелька. Суммы с большей точностью не принимаются.
+// ETH ограничен гвеями (9 знаков), а не wei (18): иначе в long поместилось бы меньше 10 ETH.
+public final class CurrencyScales {
+
+    public static final int DEFAULT_SCALE = 8;
+
+    private static final Map<String, Integer> SCALES = Map.of(
+            "USDT", 6,
+            "ETH", 9,
+            "BTC", 8);
+
+    private CurrencyScales() {
+    }
+
+    public static int of(String symbol) {
+        return symbol != null ? SCALES.getOrDefault(symbol, DEFAULT_SCALE) : DEFAULT_SCALE;
+    }
+
+    public static boolean allows(String symbol, Money amount) {
+        return amount.scale() <= of(symbol);
+    }
+
+    // Символы, у которых точность меньше scale: сумма с таким числом знаков для них недопустима
+    public static List<String> coarserThan(int scale) {
+        return COARSER_THAN.get(scale);
+    }
+
+    // Символы из таблицы, у которых точность не меньше scale
+    public static List<String> atLeast(int scale) {
+        return AT_LEAST.get(scale);
+    }
+
+    // Списки для фильтра списания считаются один раз на каждую возможную точность суммы
+    private static final List<List<String>> COARSER_THAN = IntStream.rangeClosed(0, Money.MAX_SCALE)
+            .mapToObj(scale -> SCALES.entrySet().stream()
+                    .filter(entry -> entry.getValue() < scale)
+                    .map(Map.Entry::getKey)
+                    .toList())
+            .toList();
+
+    private static final List<List<String>> AT_LEAST = IntStream.rangeClosed(0, Money.MAX_SCALE)
+            .mapToObj(scale -> SCALES.entrySet().stream()
+                    .filter(entry -> entry.getValue() >= scale)
+                    .map(Map.Entry::getKey)
+                    .toList())
+            .toList();
+}
@@ -0,0 +1,244 @@
+package com.cryptowallet.money;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import org.bson.types.Decimal128;
+
+import java.math.BigDecimal;
+
+// Денежная сумма с фиксированной точкой: целое число минимальных единиц (units) и число знаков после запятой (scale).
+// Значение всегда нормализовано — без хвостовых нулей и с scale >= 0, поэтому equals/hashCode сравнивают величину.
+// В отличие от Double нет ошибки округления, в отличие от BigDecimal — нет аллокаций на разбор и сравнение.
+// Предел — 18 значащих цифр (long); выход за него — ArithmeticException, а не тихое округление.
+@JsonSerialize(using = MoneyJson.Serializer.class)
+@JsonDeserialize(using = MoneyJson.Deserializer.class)
+public final class Money implements Comparable<Money> {
+
+    public static final int MAX_SCALE = 18;
+    public static final Money ZERO = new Money(0, 0);
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_SCALE; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    // Поля кодировки BID Decimal128 (старшие 64 бита): знак, 14 бит порядка, старшие биты мантиссы
+    private static final long DECIMAL128_SIGN = 1L << 63;
+    private static final long DECIMAL128_SPECIAL = 0x3L << 61;
+    private static final long DECIMAL128_SIGNIFICAND_HIGH = (1L << 49) - 1;
+    private static final int DECIMAL128_EXPONENT_BIAS = 6176;
+
+    private final long units;
+    private final int scale;
+
+    private Money(long units, int scale) {
+        this.units = units;
+        this.scale = scale;
+    }
+
+    // 12.50 USDT при scale 6 — ofMinor(12_500_000, 6)
+    public static Money ofMinor(long units, int scale) {
+        if (scale < 0) {
+            return normalized(Math.multiplyExact(units, pow10(-scale)), 0);
+        }
+        if (scale > MAX_SCALE) {
+            return of(BigDecimal.valueOf(units, scale));
+        }
+        return normalized(units, scale);
+    }
+
+    public static Money of(BigDecimal value) {
+        BigDecimal stripped = value.stripTrailingZeros();
+        if (stripped.scale() < 0) {
+            stripped = stripped.setScale(0);
+        }
+        if (stripped.scale() > MAX_SCALE) {
+            throw new ArithmeticException("Money supports at most " + MAX_SCALE + " decimal places: " + value);
+        }
+        return normalized(stripped.unscaledValue().longValueExact(), stripped.scale());
+    }
+
+    public static Money parse(CharSequence text) {
+        return parse(text, 0, text.length());
+    }
+
+    // Разбор десятичной записи без промежуточного BigDecimal; экспоненциальная форма — редкий путь через BigDecimal
+    public static Money parse(CharSequence text, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        boolean negative = false;
+        if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+        long units = 0;
+        int scale = -1;
+        int digits = 0;
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                units = Math.addExact(Math.multiplyExact(units, 10), c - '0');
+                digits++;
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else if (c == '.' && scale < 0) {
+                scale = 0;
+            } else if (c == 'e' || c == 'E') {
+                return of(new BigDecimal(text.subSequence(offset, end).toString()));
+            } else {
+                throw new NumberFormatException("Invalid amount: " + text.subSequence(offset, end));
+            }
+        }
+        if (digits == 0) {
+            throw new NumberFormatException("Invalid amount: " + text.subSequence(offset, end));
+        }
+        return ofMinor(negative ? -units : units, Math.max(scale, 0));
+    }
+
+    // Обычная форма Decimal128 с мантиссой, помещающейся в long, декодируется напрямую из битов
+    public static Money fromDecimal128(Decimal128 value) {
+        long high = value.getHigh();
+        long low = value.getLow();
+        if ((high & DECIMAL128_SPECIAL) != DECIMAL128_SPECIAL && (high & DECIMAL128_SIGNIFICAND_HIGH) == 0 && low >= 0) {
+            int exponent = (int) ((high >>> 49) & 0x3FFF) - DECIMAL128_EXPONENT_BIAS;
+            if (-exponent <= MAX_SCALE) {
+                return ofMinor((high & DECIMAL128_SIGN) != 0 ? -low : low, -exponent);
+            }
+        }
+        return of(value.bigDecimalValue());
+    }
+
+    public Decimal128 toDecimal128() {
+        if (units == Long.MIN_VALUE) {
+            return new Decimal128(toBigDecimal());
+        }
+        long sign = units < 0 ? DECIMAL128_SIGN : 0;
+        long high = sign | ((long) (DECIMAL128_EXPONENT_BIAS - scale) << 49);
+        return Decimal128.fromIEEE754BIDEncoding(high, Math.abs(units));
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(units, scale);
+    }
+
+    public long units() {
+        return units;
+    }
+
+    public int scale() {
+        return scale;
+    }
+
+    // Сумма в минимальных единицах валюты с заданной точностью; лишние знаки — ArithmeticException
+    public long toMinor(int targetScale) {
+        if (targetScale < scale) {
+            throw new ArithmeticException("Amount " + this + " has more than " + targetScale + " decimal places");
+        }
+        return Math.multiplyExact(units, pow10(targetScale - scale));
+    }
+
+    public int signum() {
+        return Long.signum(units);
+    }
+
+    public boolean isPositive() {
+        return units > 0;
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(units), scale);
+    }
+
+    public Money add(Money other) {
+        int common = Math.max(scale, other.scale);
+        return normalized(Math.addExact(toMinor(common), other.toMinor(common)), common);
+    }
+
+    public Money subtract(Money other) {
+        int common = Math.max(scale, other.scale);
+        return normalized(Math.subtractExact(toMinor(common), other.toMinor(common)), common);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        if (scale == other.scale) {
+            return Long.compare(units, other.units);
+        }
+        if (signum() != other.signum()) {
+            return Integer.compare(signum(), other.signum());
+        }
+        int common = Math.max(scale, other.scale);
+        try {
+            return Long.compare(toMinor(common), other.toMinor(common));
+        } catch (ArithmeticException overflow) {
+            return toBigDecimal().compareTo(other.toBigDecimal());
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other && units == other.units && scale == other.scale;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(units) * 31 + scale;
+    }
+
+    @Override
+    public String toString() {
+        return new String(toChars());
+    }
+
+    // Десятичная запись без экспоненты в массиве ровно нужной длины — его же отдаёт в JSON MoneyJson
+    char[] toChars() {
+        int digits = Math.max(digitCount(units), scale + 1);
+        char[] chars = new char[digits + (scale > 0 ? 1 : 0) + (units < 0 ? 1 : 0)];
+        long rest = units;
+        int pos = chars.length;
+        for (int i = 0; i < digits; i++) {
+            // Остаток берём по модулю: для отрицательных long % 10 <= 0
+            chars[--pos] = (char) ('0' + Math.abs(rest % 10));
+            rest /= 10;
+            if (i + 1 == scale) {
+                chars[--pos] = '.';
+            }
+        }
+        if (units < 0) {
+            chars[0] = '-';
+        }
+        return chars;
+    }
+
+    private static int digitCount(long value) {
+        int count = 1;
+        while (value <= -10 || value >= 10) {
+            value /= 10;
+            count++;
+        }
+        return count;
+    }
+
+    private static Money normalized(long units, int scale) {
+        if (units == 0) {
+            return ZERO;
+        }
+        while (scale > 0 && units % 10 == 0) {
+            units /= 10;
+            scale--;
+        }
+        return new Money(units, scale);
+    }
+
+    private static long pow10(int exponent) {
+        if (exponent > MAX_SCALE) {
+            throw new ArithmeticException("Amount out of range");
+        }
+        return POWERS_OF_TEN[exponent];
+    }
+}
@@ -0,0 +1,61 @@
+package com.cryptowallet.money;
+
+import org.bson.types.Decimal128;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Money хранится в Mongo как Decimal128: точно, и $inc/$gte по балансу работают на стороне базы.
+// Старые транзакции с amount типа double читаются через кратчайшую десятичную запись числа.
+public final class MoneyConverters {
+
+    private MoneyConverters() {
+    }
+
+    public static List<Converter<?, ?>> all() {
+        return List.of(MoneyToDecimal128.INSTANCE, Decimal128ToMoney.INSTANCE, DoubleToMoney.INSTANCE, LongToMoney.INSTANCE);
+    }
+
+    @WritingConverter
+    enum MoneyToDecimal128 implements Converter<Money, Decimal128> {
+        INSTANCE;
+
+        @Override
+        public Decimal128 convert(Money source) {
+            return source.toDecimal128();
+        }
+    }
+
+    @ReadingConverter
+    enum Decimal128ToMoney implements Converter<Decimal128, Money> {
+        INSTANCE;
+
+        @Override
+        public Money convert(Decimal128 source) {
+            return Money.fromDecimal128(source);
+        }
+    }
+
+    @ReadingConverter
+    enum DoubleToMoney implements Converter<Double, Money> {
+        INSTANCE;
+
+        @Override
+        public Money convert(Double source) {
+            return Money.of(BigDecimal.valueOf(source));
+        }
+    }
+
+    @ReadingConverter
+    enum LongToMoney implements Converter<Long, Money> {
+        INSTANCE;
+
+        @Override
+        public Money convert(Long source) {
+            return Money.ofMinor(source, 0);
+        }
+    }
+}
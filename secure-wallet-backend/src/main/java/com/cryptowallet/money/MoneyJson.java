@@ -0,0 +1,54 @@
+package com.cryptowallet.money;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+
+import java.io.IOException;
+
+// Money в JSON — обычное число (как прежний Double), но без двоичного округления в обе стороны
+final class MoneyJson {
+
+    private MoneyJson() {
+    }
+
+    static final class Serializer extends StdScalarSerializer<Money> {
+
+        Serializer() {
+            super(Money.class);
+        }
+
+        @Override
+        public void serialize(Money value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            char[] chars = value.toChars();
+            gen.writeNumber(chars, 0, chars.length);
+        }
+    }
+
+    static final class Deserializer extends StdScalarDeserializer<Money> {
+
+        Deserializer() {
+            super(Money.class);
+        }
+
+        @Override
+        public Money deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT
+                    || token == JsonToken.VALUE_STRING) {
+                // Для чисел парсер отдаёт исходный текст литерала — разбираем его, не проходя через double
+                String text = p.getText().trim();
+                try {
+                    return Money.parse(text);
+                } catch (NumberFormatException | ArithmeticException e) {
+                    return (Money) ctxt.handleWeirdStringValue(Money.class, text, e.getMessage());
+                }
+            }
+            return (Money) ctxt.handleUnexpectedToken(Money.class, p);
+        }
+    }
+}
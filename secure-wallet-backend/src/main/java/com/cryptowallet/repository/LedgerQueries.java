@@ -0,0 +1,44 @@
+package com.cryptowallet.repository;
+
+import com.cryptowallet.entity.LedgerEntry;
+import com.cryptowallet.money.Money;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Запросы к журналу кошельков, общие для блокирующего и реактивного репозиториев
+final class LedgerQueries {
+
+    private LedgerQueries() {
+    }
+
+    // amount хранится как Decimal128, поэтому $sum точный
+    static TypedAggregation<LedgerEntry> outstanding(Collection<String> walletIds) {
+        return Aggregation.newAggregation(LedgerEntry.class,
+                Aggregation.match(Criteria.where("walletId").in(walletIds)),
+                Aggregation.group("walletId").sum("amount").as("total"));
+    }
+
+    // Группы {_id: walletId, total} — тот же вид у WalletStripeQueries.totals
+    static Map<String, Money> totals(List<Document> groups) {
+        Map<String, Money> totals = new HashMap<>(groups.size() * 2);
+        for (Document group : groups) {
+            totals.put(group.getString("_id"), Money.fromDecimal128(group.get("total", Decimal128.class)));
+        }
+        return totals;
+    }
+
+    static Query oldest(String walletId, int limit) {
+        return new Query(Criteria.where("walletId").is(walletId))
+                .with(Sort.by("createdAt", "_id"))
+                .limit(limit);
+    }
+}
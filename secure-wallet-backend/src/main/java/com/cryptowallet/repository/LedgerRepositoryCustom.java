@@ -0,0 +1,16 @@
+package com.cryptowallet.repository;
+
+import com.cryptowallet.entity.LedgerEntry;
+import com.cryptowallet.money.Money;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface LedgerRepositoryCustom {
+    // Сумма ещё не свёрнутых записей по каждому кошельку; кошельков без записей в ответе нет
+    Map<String, Money> outstanding(Collection<String> walletIds);
+
+    // Для компакции: кошельки, у которых есть записи, и самые старые записи кошелька
+    List<String> findWalletIds();
+    List<LedgerEntry> findOldest(String walletId, int limit);
+}
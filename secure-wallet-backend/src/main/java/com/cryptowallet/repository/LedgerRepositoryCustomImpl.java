@@ -0,0 +1,33 @@
+package com.cryptowallet.repository;
+
+import com.cryptowallet.entity.LedgerEntry;
+import com.cryptowallet.money.Money;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class LedgerRepositoryCustomImpl implements LedgerRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public LedgerRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Map<String, Money> outstanding(Collection<String> walletIds) {
+        return LedgerQueries.totals(mongoTemplate.aggregate(LedgerQueries.outstanding(walletIds),
+                LedgerEntry.class, Document.class).getMappedResults());
+    }
+
+    @Override
+    public List<String> findWalletIds() {
+        return mongoTemplate.findDistinct("walletId", LedgerEntry.class, String.class);
+    }
+
+    @Override
+    public List<LedgerEntry> findOldest(String walletId, int limit) {
+        return mongoTemplate.find(LedgerQueries.oldest(walletId, limit), LedgerEntry.class);
+    }
+}
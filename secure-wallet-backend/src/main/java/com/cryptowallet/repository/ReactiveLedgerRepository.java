@@ -0,0 +1,9 @@
+package com.cryptowallet.repository;
+
+import com.cryptowallet.entity.LedgerEntry;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReactiveLedgerRepository extends ReactiveMongoRepository<LedgerEntry, String>, ReactiveLedgerRepositoryCustom {
+}
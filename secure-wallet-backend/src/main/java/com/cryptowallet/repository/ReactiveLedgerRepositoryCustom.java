@@ -0,0 +1,11 @@
+package com.cryptowallet.repository;
+
+import com.cryptowallet.money.Money;
+import reactor.core.publisher.Mono;
+import java.util.Collection;
+import java.util.Map;
+
+public interface ReactiveLedgerRepositoryCustom {
+    // То же, что LedgerRepositoryCustom.outstanding; компакция работает только на блокирующем стеке
+    Mono<Map<String, Money>> outstanding(Collection<String> walletIds);
+}
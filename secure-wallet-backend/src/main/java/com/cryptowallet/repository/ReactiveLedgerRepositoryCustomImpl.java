@@ -0,0 +1,24 @@
+package com.cryptowallet.repository;
+
+import com.cryptowallet.entity.LedgerEntry;
+import com.cryptowallet.money.Money;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+import java.util.Collection;
+import java.util.Map;
+
+public class ReactiveLedgerRepositoryCustomImpl implements ReactiveLedgerRepositoryCustom {
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public ReactiveLedgerRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<Map<String, Money>> outstanding(Collection<String> walletIds) {
+        return mongoTemplate.aggregate(LedgerQueries.outstanding(walletIds), LedgerEntry.class, Document.class)
+                .collectList()
+                .map(LedgerQueries::totals);
+    }
+}
@@ -0,0 +1,10 @@
+// src/main/java/com/cryptowallet/repository/ReactiveTransactionRepository.java
+package com.cryptowallet.repository;
+
+import com.cryptowallet.entity.Transaction;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReactiveTransactionRepository extends ReactiveMongoRepository<Transaction, String>, ReactiveTransactionRepositoryCustom {
+}
@@ -0,0 +1,26 @@
+// src/main/java/com/cryptowallet/repository/ReactiveTransactionRepositoryCustom.java
+package com.cryptowallet.repository;
+
+import com.cryptowallet.dto.TransactionStatsDTO;
+import com.cryptowallet.entity.Transaction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+public interface ReactiveTransactionRepositoryCustom {
+    // Та же keyset-пагинация, что и в TransactionRepositoryCustom
+    Flux<Transaction> findUserPage(String userId, LocalDateTime afterTimestamp, String afterId, int limit);
+    Flux<Transaction> findWalletPage(String walletId, LocalDateTime afterTimestamp, String afterId, int limit);
+
+    // Вся история от новых к старым; курсор Mongo читается по мере запроса подписчика
+    Flux<Transaction> streamByUser(String userId);
+    Flux<Transaction> streamByWallet(String walletId);
+
+    // Та же неупорядоченная bulk-вставка; в результате — позиции документов, которые не вставились
+    Mono<Set<Integer>> bulkInsert(List<Transaction> transactions);
+
+    // Та же агрегация, что и в TransactionRepositoryCustom
+    Flux<TransactionStatsDTO.Bucket> aggregateStats(String userId, LocalDateTime from, LocalDateTime to, String bucketFormat);
+}
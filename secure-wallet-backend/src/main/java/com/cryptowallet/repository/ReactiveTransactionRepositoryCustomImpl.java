@@ -0,0 +1,63 @@
+// src/main/java/com/cryptowallet/repository/ReactiveTransactionRepositoryCustomImpl.java
+package com.cryptowallet.repository;
+
+import com.cryptowallet.dto.TransactionStatsDTO;
+import com.cryptowallet.entity.Transaction;
+import com.mongodb.MongoBulkWriteException;
+import org.bson.Document;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static com.cryptowallet.repository.TransactionQueries.*;
+
+public class ReactiveTransactionRepositoryCustomImpl implements ReactiveTransactionRepositoryCustom {
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public ReactiveTransactionRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Flux<Transaction> findUserPage(String userId, LocalDateTime afterTimestamp, String afterId, int limit) {
+        return mongoTemplate.find(page(userScope(userId), afterTimestamp, afterId, limit), Transaction.class);
+    }
+
+    @Override
+    public Flux<Transaction> findWalletPage(String walletId, LocalDateTime afterTimestamp, String afterId, int limit) {
+        return mongoTemplate.find(page(walletScope(walletId), afterTimestamp, afterId, limit), Transaction.class);
+    }
+
+    @Override
+    public Flux<Transaction> streamByUser(String userId) {
+        return mongoTemplate.find(stream(userScope(userId)), Transaction.class);
+    }
+
+    @Override
+    public Flux<Transaction> streamByWallet(String walletId) {
+        return mongoTemplate.find(stream(walletScope(walletId)), Transaction.class);
+    }
+
+    // Реактивные bulk-операции не всегда оборачивают ошибку драйвера, поэтому разбираем оба вида
+    @Override
+    public Mono<Set<Integer>> bulkInsert(List<Transaction> transactions) {
+        return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Transaction.class)
+                .insert(transactions)
+                .execute()
+                .<Set<Integer>>map(result -> Set.of())
+                .onErrorResume(BulkOperationException.class, e -> Mono.just(failedPositions(e.getErrors())))
+                .onErrorResume(MongoBulkWriteException.class, e -> Mono.just(failedPositions(e.getWriteErrors())));
+    }
+
+    @Override
+    public Flux<TransactionStatsDTO.Bucket> aggregateStats(String userId, LocalDateTime from, LocalDateTime to,
+                                                           String bucketFormat) {
+        return mongoTemplate.aggregate(stats(userId, from, to, bucketFormat), Document.class)
+                .map(TransactionQueries::statsBucket);
+    }
+}
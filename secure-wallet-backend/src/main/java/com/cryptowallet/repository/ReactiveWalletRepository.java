@@ -0,0 +1,16 @@
+// src/main/java/com/cryptowallet/repository/ReactiveWalletRepository.java
+package com.cryptowallet.repository;
+
+import com.cryptowallet.entity.Wallet;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveWalletRepository extends ReactiveMongoRepository<Wallet, String>, ReactiveWalletRepositoryCustom {
+    Flux<WalletView> findByUserId(String userId);
+    Mono<Wallet> findByIdAndUserId(String id, String userId);
+    Mono<Boolean> existsByIdAndUserId(String id, String userId);
+    Mono<Wallet> findByAddress(String address);
+}
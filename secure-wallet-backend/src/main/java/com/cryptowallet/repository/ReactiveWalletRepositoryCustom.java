@@ -0,0 +1,15 @@
+// src/main/java/com/cryptowallet/repository/ReactiveWalletRepositoryCustom.java
+package com.cryptowallet.repository;
+
+import com.cryptowallet.entity.Wallet;
+import com.cryptowallet.money.Money;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveWalletRepositoryCustom {
+    // То же атомарное списание, что и WalletRepositoryCustom.debitIfSufficient; пустой Mono — списание не прошло
+    Mono<Wallet> debitIfSufficient(String walletId, String userId, Money amount);
+
+    Mono<Wallet> debitForTransfer(String walletId, String userId, Money amount, String symbol);
+
+    Mono<Boolean> credit(String walletId, Money amount);
+}
@@ -0,0 +1,38 @@
+// src/main/java/com/cryptowallet/repository/ReactiveWalletRepositoryCustomImpl.java
+package com.cryptowallet.repository;
+
+import com.cryptowallet.entity.Wallet;
+import com.cryptowallet.money.Money;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+
+public class ReactiveWalletRepositoryCustomImpl implements ReactiveWalletRepositoryCustom {
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public ReactiveWalletRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<Wallet> debitIfSufficient(String walletId, String userId, Money amount) {
+        return mongoTemplate.findAndModify(
+                WalletQueries.debitable(walletId, userId, amount),
+                WalletQueries.debit(amount),
+                FindAndModifyOptions.options().returnNew(true), Wallet.class);
+    }
+
+    @Override
+    public Mono<Wallet> debitForTransfer(String walletId, String userId, Money amount, String symbol) {
+        return mongoTemplate.findAndModify(
+                WalletQueries.debitable(walletId, userId, amount, symbol),
+                WalletQueries.debit(amount),
+                FindAndModifyOptions.options().returnNew(true), Wallet.class);
+    }
+
+    @Override
+    public Mono<Boolean> credit(String walletId, Money amount) {
+        return mongoTemplate.updateFirst(WalletQueries.byId(walletId), WalletQueries.credit(amount), Wallet.class)
+                .map(result -> result.getMatchedCount() > 0);
+    }
+}
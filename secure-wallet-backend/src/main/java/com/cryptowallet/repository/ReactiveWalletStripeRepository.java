@@ -0,0 +1,11 @@
+package com.cryptowallet.repository;
+
+import com.cryptowallet.entity.WalletStripe;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+@Repository
+public interface ReactiveWalletStripeRepository extends ReactiveMongoRepository<WalletStripe, String>, ReactiveWalletStripeRepositoryCustom {
+    Flux<WalletStripe> findByWalletId(String walletId);
+}
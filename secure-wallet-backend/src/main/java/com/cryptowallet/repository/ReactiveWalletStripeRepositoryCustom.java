@@ -0,0 +1,15 @@
+package com.cryptowallet.repository;
+
+import com.cryptowallet.money.Money;
+import reactor.core.publisher.Mono;
+import java.util.Collection;
+import java.util.Map;
+
+public interface ReactiveWalletStripeRepositoryCustom {
+    // Те же операции, что у WalletStripeRepositoryCustom; выравнивание полос работает только на блокирующем стеке
+    Mono<Boolean> debit(String walletId, int stripe, Money amount);
+
+    Mono<Void> credit(String walletId, int stripe, Money amount);
+
+    Mono<Map<String, Money>> totals(Collection<String> walletIds);
+}
@@ -0,0 +1,37 @@
+package com.cryptowallet.repository;
+
+import com.cryptowallet.entity.WalletStripe;
+import com.cryptowallet.money.Money;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Mono;
+import java.util.Collection;
+import java.util.Map;
+
+public class ReactiveWalletStripeRepositoryCustomImpl implements ReactiveWalletStripeRepositoryCustom {
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public ReactiveWalletStripeRepositoryCustomImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Mono<Boolean> debit(String walletId, int stripe, Money amount) {
+        return mongoTemplate.updateFirst(WalletStripeQueries.debitable(walletId, stripe, amount),
+                        WalletStripeQueries.inc(amount.negate()), WalletStripe.class)
+                .map(result -> result.getModifiedCount() > 0);
+    }
+
+    @Override
+    public Mono<Void> credit(String walletId, int stripe, Money amount) {
+        return mongoTemplate.upsert(WalletStripeQueries.byId(walletId, stripe),
+                WalletStripeQueries.credit(walletId, stripe, amount), WalletStripe.class).then();
+    }
+
+    @Override
+    public Mono<Map<String, Money>> totals(Collection<String> walletIds) {
+        return mongoTemplate.aggregate(WalletStripeQueries.totals(walletIds), WalletStripe.class, Document.class)
+                .collectList()
+                .map(LedgerQueries::totals);
+    }
+}
@@ -0,0 +1,100 @@
+// src/main/java/com/cryptowallet/repository/TransactionQueries.java
+package com.cryptowallet.repository;
+
+import com.cryptowallet.dto.TransactionStatsDTO;
+import com.cryptowallet.entity.Transaction;
+import com.cryptowallet.money.Money;
+import com.mongodb.bulk.BulkWriteError;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Запросы истории транзакций, общие для блокирующего и реактивного репозиториев
+final class TransactionQueries {
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Order.desc("timestamp"), Sort.Order.desc("_id"));
+
+    private TransactionQueries() {
+    }
+
+    static Query page(Criteria scope, LocalDateTime afterTimestamp, String afterId, int limit) {
+        Criteria criteria = scope;
+        if (afterTimestamp != null && afterId != null) {
+            // Строго «после» курсора: более ранний timestamp либо тот же timestamp и меньший _id
+            criteria = new Criteria().andOperator(scope, new Criteria().orOperator(
+                    Criteria.where("timestamp").lt(afterTimestamp),
+                    Criteria.where("timestamp").is(afterTimestamp).and("_id").lt(afterId)));
+        }
+        return new Query(criteria).with(NEWEST_FIRST).limit(limit);
+    }
+
+    static Query stream(Criteria scope) {
+        return new Query(scope).with(NEWEST_FIRST).cursorBatchSize(STREAM_BATCH_SIZE);
+    }
+
+    static Criteria walletScope(String walletId) {
+        return Criteria.where("walletId").is(walletId);
+    }
+
+    static Criteria userScope(String userId) {
+        return Criteria.where("userId").is(userId);
+    }
+
+    // Суммы и количество по (интервал, валюта, тип, статус) за [from, to): $match идёт по индексу userId_timestamp_id,
+    // интервал — начало в зоне сервера (LocalDateTime пишется в ней же) строкой bucketFormat. Группировка
+    // по годам истории может не уместиться в память стадии — allowDiskUse. Старые записи хранят amount как double:
+    // $toDecimal до $sum, иначе сумма только из double пришла бы double с ошибкой округления
+    static TypedAggregation<Transaction> stats(String userId, LocalDateTime from, LocalDateTime to, String bucketFormat) {
+        return Aggregation.newAggregation(Transaction.class,
+                        Aggregation.match(userScope(userId).and("timestamp").gte(from).lt(to)),
+                        Aggregation.project("currency", "type", "status")
+                                .and(ConvertOperators.valueOf("amount").convertToDecimal()).as("amount")
+                                .and(DateOperators.dateOf("timestamp")
+                                        .withTimezone(DateOperators.Timezone.valueOf(ZoneId.systemDefault().getId()))
+                                        .toString(bucketFormat)).as("bucket"),
+                        Aggregation.group("bucket", "currency", "type", "status")
+                                .count().as("count")
+                                .sum("amount").as("sum"))
+                .withOptions(AggregationOptions.builder().allowDiskUse(true).build());
+    }
+
+    // Группа {_id: {bucket, currency, type, status}, count, sum}
+    static TransactionStatsDTO.Bucket statsBucket(Document group) {
+        Document id = group.get("_id", Document.class);
+        return new TransactionStatsDTO.Bucket(id.getString("bucket"), id.getString("currency"), id.getString("type"),
+                id.getString("status"), ((Number) group.get("count")).longValue(), sum(group.get("sum")));
+    }
+
+    // Обычно Decimal128; у групп без amount $sum даёт целый 0. Любое другое число читается так же,
+    // как amount в MoneyConverters, — нулём не подменяется
+    static Money sum(Object sum) {
+        if (sum instanceof Decimal128 decimal) {
+            return Money.fromDecimal128(decimal);
+        }
+        if (sum instanceof Double || sum instanceof Float) {
+            return Money.of(BigDecimal.valueOf(((Number) sum).doubleValue()));
+        }
+        if (sum instanceof Number number) {
+            return Money.ofMinor(number.longValue(), 0);
+        }
+        return Money.ZERO;
+    }
+
+    // Позиции (в порядке вставки) документов, отклонённых неупорядоченной bulk-вставкой
+    static Set<Integer> failedPositions(List<BulkWriteError> errors) {
+        return errors.stream().map(BulkWriteError::getIndex).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,26 @@
+// src/main/java/com/cryptowallet/repository/TransactionRepositoryCustom.java
+package com.cryptowallet.repository;
+
+import com.cryptowallet.dto.TransactionStatsDTO;
+import com.cryptowallet.entity.Transaction;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+public interface TransactionRepositoryCustom {
+    // Keyset-пагинация по (timestamp desc, _id desc): afterTimestamp/afterId — позиция последней выданной записи,
+    // null для первой страницы
+    List<Transaction> findUserPage(String userId, LocalDateTime afterTimestamp, String afterId, int limit);
+    List<Transaction> findWalletPage(String walletId, LocalDateTime afterTimestamp, String afterId, int limit);
+
+    // Потоковое чтение через курсор Mongo; Stream обязательно закрывать
+    Stream<Transaction> streamByUser(String userId);
+    Stream<Transaction> streamByWallet(String walletId);
+
+    // Вставка одним неупорядоченным bulk-запросом; возвращает позиции документов, которые не вставились
+    Set<Integer> bulkInsert(List<Transaction> transactions);
+
+    // Агрегация на стороне Mongo за [from, to); bucketFormat — формат $dateToString начала интервала
+    List<TransactionStatsDTO.Bucket> aggregateStats(String userId, LocalDateTime from, LocalDateTime to, String bucketFormat);
+}
@@ -0,0 +1,64 @@
+// src/main/java/com/cryptowallet/repository/TransactionRepositoryCustomImpl.java
+package com.cryptowallet.repository;
+
+import com.cryptowallet.dto.TransactionStatsDTO;
+import com.cryptowallet.entity.Transaction;
+import org.bson.Document;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static com.cryptowallet.repository.TransactionQueries.*;
+
+public class TransactionRepositoryCustomImpl implements TransactionRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public TransactionRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<Transaction> findUserPage(String userId, LocalDateTime afterTimestamp, String afterId, int limit) {
+        return mongoTemplate.find(page(userScope(userId), afterTimestamp, afterId, limit), Transaction.class);
+    }
+
+    @Override
+    public List<Transaction> findWalletPage(String walletId, LocalDateTime afterTimestamp, String afterId, int limit) {
+        return mongoTemplate.find(page(walletScope(walletId), afterTimestamp, afterId, limit), Transaction.class);
+    }
+
+    @Override
+    public Stream<Transaction> streamByUser(String userId) {
+        return mongoTemplate.stream(stream(userScope(userId)), Transaction.class);
+    }
+
+    @Override
+    public Stream<Transaction> streamByWallet(String walletId) {
+        return mongoTemplate.stream(stream(walletScope(walletId)), Transaction.class);
+    }
+
+    @Override
+    public Set<Integer> bulkInsert(List<Transaction> transactions) {
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Transaction.class)
+                    .insert(transactions)
+                    .execute();
+            return Set.of();
+        } catch (BulkOperationException e) {
+            return failedPositions(e.getErrors());
+        }
+    }
+
+    @Override
+    public List<TransactionStatsDTO.Bucket> aggregateStats(String userId, LocalDateTime from, LocalDateTime to,
+                                                           String bucketFormat) {
+        return mongoTemplate.aggregate(stats(userId, from, to, bucketFormat), Document.class).getMappedResults()
+                .stream()
+                .map(TransactionQueries::statsBucket)
+                .toList();
+    }
+}
@@ -0,0 +1,62 @@
+// src/main/java/com/cryptowallet/repository/WalletQueries.java
+package com.cryptowallet.repository;
+
+import com.cryptowallet.money.CurrencyScales;
+import com.cryptowallet.money.Money;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Запросы к кошелькам, общие для блокирующего и реактивного репозиториев
+final class WalletQueries {
+
+    private WalletQueries() {
+    }
+
+    // balance хранится как Decimal128, поэтому и условие, и $inc передаём в том же типе.
+    // Сумма точнее, чем допускает валюта кошелька, отсекается тем же фильтром — без предварительного чтения.
+    // Кошельки с журналом (ledger) и с полосами (stripes) так не списываются: их balance — только снимок, см. HotWallets
+    static Query debitable(String walletId, String userId, Money amount) {
+        return new Query(debitableCriteria(walletId, userId, amount));
+    }
+
+    // Для внутреннего перевода валюта отправителя должна совпадать с валютой получателя. Условие на symbol
+    // идёт отдельным элементом $and: через and("symbol") оно заменило бы фильтр точности выше
+    static Query debitable(String walletId, String userId, Money amount, String symbol) {
+        return new Query(new Criteria().andOperator(debitableCriteria(walletId, userId, amount),
+                Criteria.where("symbol").is(symbol)));
+    }
+
+    private static Criteria debitableCriteria(String walletId, String userId, Money amount) {
+        Criteria criteria = Criteria.where("_id").is(walletId)
+                .and("userId").is(userId)
+                .and("balance").gte(amount.toDecimal128())
+                .and("ledger").ne(true)
+                .and("stripes").not().gt(0);
+        if (amount.scale() > CurrencyScales.DEFAULT_SCALE) {
+            criteria.and("symbol").in(CurrencyScales.atLeast(amount.scale()));
+        } else {
+            List<String> coarser = CurrencyScales.coarserThan(amount.scale());
+            if (!coarser.isEmpty()) {
+                criteria.and("symbol").nin(coarser);
+            }
+        }
+        return criteria;
+    }
+
+    static Update debit(Money amount) {
+        return credit(amount.negate());
+    }
+
+    static Query byId(String walletId) {
+        return new Query(Criteria.where("_id").is(walletId));
+    }
+
+    static Update credit(Money amount) {
+        return new Update()
+                .inc("balance", amount.toDecimal128())
+                .set("updatedAt", LocalDateTime.now());
+    }
+}
@@ -2,15 +2,17 @@
 package com.cryptowallet.repository;
 
 import com.cryptowallet.entity.Wallet;
-import com.cryptowallet.entity.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface WalletRepository extends MongoRepository<Wallet, String> {
-    List<Wallet> findByUser(User user);
-    Optional<Wallet> findByIdAndUser(String id, User user);
+public interface WalletRepository extends MongoRepository<Wallet, String>, WalletRepositoryCustom {
+    List<WalletView> findByUserId(String userId);
+    Optional<Wallet> findByIdAndUserId(String id, String userId);
+    boolean existsByIdAndUserId(String id, String userId);
     Optional<Wallet> findByAddress(String address);
+    // Для выравнивания полос; идёт по разреженному индексу stripes_1
+    List<Wallet> findByStripesGreaterThan(int stripes);
 }
\ No newline at end of file
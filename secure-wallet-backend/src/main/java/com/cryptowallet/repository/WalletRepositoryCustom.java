@@ -0,0 +1,18 @@
+// src/main/java/com/cryptowallet/repository/WalletRepositoryCustom.java
+package com.cryptowallet.repository;
+
+import com.cryptowallet.entity.Wallet;
+import com.cryptowallet.money.Money;
+import java.util.Optional;
+
+public interface WalletRepositoryCustom {
+    // Атомарное списание: одна операция findAndModify с условием balance >= amount.
+    // Пустой Optional означает, что кошелёк не найден, не принадлежит пользователю или баланса недостаточно.
+    Optional<Wallet> debitIfSufficient(String walletId, String userId, Money amount);
+
+    // То же списание, но только с кошелька в валюте symbol — для внутреннего перевода
+    Optional<Wallet> debitForTransfer(String walletId, String userId, Money amount, String symbol);
+
+    // Зачисление (или возврат ранее списанной суммы); false — кошелька нет
+    boolean credit(String walletId, Money amount);
+}
@@ -0,0 +1,38 @@
+// src/main/java/com/cryptowallet/repository/WalletRepositoryCustomImpl.java
+package com.cryptowallet.repository;
+
+import com.cryptowallet.entity.Wallet;
+import com.cryptowallet.money.Money;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import java.util.Optional;
+
+public class WalletRepositoryCustomImpl implements WalletRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public WalletRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<Wallet> debitIfSufficient(String walletId, String userId, Money amount) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                WalletQueries.debitable(walletId, userId, amount),
+                WalletQueries.debit(amount),
+                FindAndModifyOptions.options().returnNew(true), Wallet.class));
+    }
+
+    @Override
+    public Optional<Wallet> debitForTransfer(String walletId, String userId, Money amount, String symbol) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(
+                WalletQueries.debitable(walletId, userId, amount, symbol),
+                WalletQueries.debit(amount),
+                FindAndModifyOptions.options().returnNew(true), Wallet.class));
+    }
+
+    @Override
+    public boolean credit(String walletId, Money amount) {
+        return mongoTemplate.updateFirst(WalletQueries.byId(walletId), WalletQueries.credit(amount), Wallet.class)
+                .getMatchedCount() > 0;
+    }
+}
@@ -0,0 +1,43 @@
+package com.cryptowallet.repository;
+
+import com.cryptowallet.entity.WalletStripe;
+import com.cryptowallet.money.Money;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import java.util.Collection;
+
+// Запросы к полосам баланса, общие для блокирующего и реактивного репозиториев
+final class WalletStripeQueries {
+
+    private WalletStripeQueries() {
+    }
+
+    static Query byId(String walletId, int stripe) {
+        return new Query(Criteria.where("_id").is(WalletStripe.id(walletId, stripe)));
+    }
+
+    static Query debitable(String walletId, int stripe, Money amount) {
+        return new Query(Criteria.where("_id").is(WalletStripe.id(walletId, stripe))
+                .and("balance").gte(amount.toDecimal128()));
+    }
+
+    static Update inc(Money amount) {
+        return new Update().inc("balance", amount.toDecimal128());
+    }
+
+    static Update credit(String walletId, int stripe, Money amount) {
+        return inc(amount)
+                .setOnInsert("walletId", walletId)
+                .setOnInsert("stripe", stripe);
+    }
+
+    // Результат в том же виде, что у LedgerQueries.outstanding: _id = walletId, total
+    static TypedAggregation<WalletStripe> totals(Collection<String> walletIds) {
+        return Aggregation.newAggregation(WalletStripe.class,
+                Aggregation.match(Criteria.where("walletId").in(walletIds)),
+                Aggregation.group("walletId").sum("balance").as("total"));
+    }
+}
@@ -0,0 +1,11 @@
+package com.cryptowallet.repository;
+
+import com.cryptowallet.entity.WalletStripe;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface WalletStripeRepository extends MongoRepository<WalletStripe, String>, WalletStripeRepositoryCustom {
+    List<WalletStripe> findByWalletId(String walletId);
+}
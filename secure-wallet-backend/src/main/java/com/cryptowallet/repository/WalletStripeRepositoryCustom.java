@@ -0,0 +1,16 @@
+package com.cryptowallet.repository;
+
+import com.cryptowallet.money.Money;
+import java.util.Collection;
+import java.util.Map;
+
+public interface WalletStripeRepositoryCustom {
+    // Атомарное списание с одной полосы: $inc с условием balance >= amount; false — полосы нет или на ней не хватает
+    boolean debit(String walletId, int stripe, Money amount);
+
+    // Зачисление на полосу; отсутствующая полоса создаётся
+    void credit(String walletId, int stripe, Money amount);
+
+    // Сумма полос по каждому кошельку; кошельков без полос в ответе нет
+    Map<String, Money> totals(Collection<String> walletIds);
+}
@@ -0,0 +1,34 @@
+package com.cryptowallet.repository;
+
+import com.cryptowallet.entity.WalletStripe;
+import com.cryptowallet.money.Money;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import java.util.Collection;
+import java.util.Map;
+
+public class WalletStripeRepositoryCustomImpl implements WalletStripeRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public WalletStripeRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public boolean debit(String walletId, int stripe, Money amount) {
+        return mongoTemplate.updateFirst(WalletStripeQueries.debitable(walletId, stripe, amount),
+                WalletStripeQueries.inc(amount.negate()), WalletStripe.class).getModifiedCount() > 0;
+    }
+
+    @Override
+    public void credit(String walletId, int stripe, Money amount) {
+        mongoTemplate.upsert(WalletStripeQueries.byId(walletId, stripe),
+                WalletStripeQueries.credit(walletId, stripe, amount), WalletStripe.class);
+    }
+
+    @Override
+    public Map<String, Money> totals(Collection<String> walletIds) {
+        return LedgerQueries.totals(mongoTemplate.aggregate(WalletStripeQueries.totals(walletIds),
+                WalletStripe.class, Document.class).getMappedResults());
+    }
+}
@@ -0,0 +1,17 @@
+// src/main/java/com/cryptowallet/repository/WalletView.java
+package com.cryptowallet.repository;
+
+import com.cryptowallet.money.Money;
+
+// Закрытая проекция для списка кошельков: Mongo возвращает только эти поля, без служебных дат
+public interface WalletView {
+    String getId();
+    String getName();
+    String getCurrency();
+    String getSymbol();
+    Money getBalance();
+    String getAddress();
+    // null у кошельков, созданных до появления журнала
+    Boolean getLedger();
+    Integer getStripes();
+}
@@ -1,5 +1,8 @@
 package com.cryptowallet.security;
 
+import com.cryptowallet.metrics.AuthenticationMetrics;
+import com.cryptowallet.metrics.Outcomes;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,65 +12,89 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+import org.springframework.context.annotation.Profile;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import java.io.IOException;
 
 @Component
+@Profile("!reactive")
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final AuthenticationMetrics authenticationMetrics;
     private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService, PrincipalCache principalCache,
+                                   AuthenticationMetrics authenticationMetrics) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
+        this.authenticationMetrics = authenticationMetrics;
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        Timer.Sample sample = authenticationMetrics.start();
+        String outcome = authenticate(request, response);
+        authenticationMetrics.stop(sample, "servlet", outcome);
+        filterChain.doFilter(request, response);
+    }
+
+    // Заполняет SecurityContext, если токен валиден; возвращает outcome для метрики
+    private String authenticate(HttpServletRequest request, HttpServletResponse response) {
         final String authHeader = request.getHeader("Authorization");
     final String jwt;
+    final Claims claims;
     final String subject; // userId по нашему соглашению
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            filterChain.doFilter(request, response);
-            return;
+            return Outcomes.ANONYMOUS;
         }
 
         jwt = authHeader.substring(7);
 
-        // Сначала валидируем/парсим токен: любые ошибки парсинга не должны ронять запрос
+        // Сначала валидируем/парсим токен (ровно один раз): любые ошибки парсинга не должны ронять запрос
         try {
-            subject = jwtUtil.extractUsername(jwt);
+            claims = jwtUtil.verify(jwt);
+            subject = claims.getSubject();
         } catch (JwtException | IllegalArgumentException e) {
             log.debug("JWT invalid: {}", e.getMessage());
             response.addHeader("X-Log-Message", "Invalid or malformed JWT");
-            filterChain.doFilter(request, response);
-            return;
+            return Outcomes.INVALID_TOKEN;
         }
 
-        if (subject != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            try {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(subject);
-                if (jwtUtil.validateToken(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
-            } catch (UsernameNotFoundException ex) {
-                log.debug("JWT subject not found (id/email): {}", subject);
-                response.addHeader("X-Log-Message", "JWT subject not found");
-            } catch (Exception ex) {
-                log.warn("JWT processing error: {}", ex.getMessage());
+        if (subject == null) {
+            return Outcomes.INVALID_TOKEN;
+        }
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            return Outcomes.SUCCESS;
+        }
+        try {
+            // Промах кэша — единственный случай, когда идём в Mongo
+            UserDetails userDetails = principalCache.get(subject, this.userDetailsService::loadUserByUsername);
+            if (!jwtUtil.isTokenValid(claims, userDetails)) {
+                return Outcomes.UNAUTHORIZED;
             }
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    userDetails, null, userDetails.getAuthorities());
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+            return Outcomes.SUCCESS;
+        } catch (UsernameNotFoundException ex) {
+            log.debug("JWT subject not found (id/email): {}", subject);
+            response.addHeader("X-Log-Message", "JWT subject not found");
+            return Outcomes.NOT_FOUND;
+        } catch (Exception ex) {
+            log.warn("JWT processing error: {}", ex.getMessage());
+            return Outcomes.ERROR;
         }
-        filterChain.doFilter(request, response);
     }
 }
@@ -0,0 +1,63 @@
+package com.cryptowallet.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+// Кэш принципалов по subject токена: в установившемся режиме аутентификация запроса не ходит в Mongo.
+// Ограничен по размеру и по времени жизни записи; сбрасывается явно при изменении/удалении пользователя.
+@Component
+public class PrincipalCache implements MeterBinder {
+
+    private final Cache<String, UserDetails> cache;
+
+    public PrincipalCache(@Value("${security.principal-cache.max-size:10000}") long maxSize,
+                          @Value("${security.principal-cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public UserDetails get(String subject, Function<String, UserDetails> loader) {
+        return cache.get(subject, loader);
+    }
+
+    public UserDetails getIfPresent(String subject) {
+        return cache.getIfPresent(subject);
+    }
+
+    // subject бывает и userId, и email (старые токены), поэтому ищем по userId среди значений
+    public void invalidateUser(String userId) {
+        cache.invalidate(userId);
+        cache.asMap().values().removeIf(principal -> principal.getUsername().equals(userId));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    // cache.gets{cache="principal", result=hit|miss}, cache.size, cache.evictions — подхватывается actuator
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "principal");
+    }
+}
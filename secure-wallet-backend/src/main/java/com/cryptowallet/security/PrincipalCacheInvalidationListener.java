@@ -0,0 +1,34 @@
+package com.cryptowallet.security;
+
+import com.cryptowallet.entity.User;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+// Любое сохранение пользователя (в т.ч. смена пароля) или его удаление сбрасывает закэшированный принципал
+@Component
+public class PrincipalCacheInvalidationListener extends AbstractMongoEventListener<User> {
+
+    private final PrincipalCache principalCache;
+
+    public PrincipalCacheInvalidationListener(PrincipalCache principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<User> event) {
+        principalCache.invalidateUser(event.getSource().getId());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<User> event) {
+        Object id = event.getSource().get("_id");
+        if (id instanceof String userId) {
+            principalCache.invalidateUser(userId);
+        } else {
+            // Удаление по произвольному условию — не знаем, кого именно задело
+            principalCache.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.cryptowallet.security;
+
+import com.cryptowallet.metrics.AuthenticationMetrics;
+import com.cryptowallet.metrics.Outcomes;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Optional;
+
+// Реактивный аналог JwtAuthenticationFilter: те же правила разбора токена и тот же кэш принципалов.
+// Не @Component — регистрируется только в цепочке безопасности (ReactiveSecurityConfig).
+public class ReactiveJwtAuthenticationFilter implements WebFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactiveJwtAuthenticationFilter.class);
+
+    private final JwtUtil jwtUtil;
+    private final CustomUserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
+    private final AuthenticationMetrics authenticationMetrics;
+
+    public ReactiveJwtAuthenticationFilter(JwtUtil jwtUtil, CustomUserDetailsService userDetailsService, PrincipalCache principalCache,
+                                           AuthenticationMetrics authenticationMetrics) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
+        this.authenticationMetrics = authenticationMetrics;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        Timer.Sample sample = authenticationMetrics.start();
+        return authenticate(exchange)
+                .flatMap(result -> {
+                    authenticationMetrics.stop(sample, "reactive", result.outcome());
+                    return result.authentication()
+                            .map(auth -> chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(auth)))
+                            .orElseGet(() -> chain.filter(exchange));
+                });
+    }
+
+    private record AuthenticationResult(Optional<Authentication> authentication, String outcome) {
+        static AuthenticationResult anonymous(String outcome) {
+            return new AuthenticationResult(Optional.empty(), outcome);
+        }
+    }
+
+    private Mono<AuthenticationResult> authenticate(ServerWebExchange exchange) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return Mono.just(AuthenticationResult.anonymous(Outcomes.ANONYMOUS));
+        }
+
+        final Claims claims;
+        try {
+            claims = jwtUtil.verify(authHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("JWT invalid: {}", e.getMessage());
+            exchange.getResponse().getHeaders().add("X-Log-Message", "Invalid or malformed JWT");
+            return Mono.just(AuthenticationResult.anonymous(Outcomes.INVALID_TOKEN));
+        }
+        String subject = claims.getSubject();
+        if (subject == null) {
+            return Mono.just(AuthenticationResult.anonymous(Outcomes.INVALID_TOKEN));
+        }
+
+        return loadPrincipal(subject)
+                .map(userDetails -> jwtUtil.isTokenValid(claims, userDetails)
+                        ? new AuthenticationResult(Optional.of(new UsernamePasswordAuthenticationToken(
+                                userDetails, null, userDetails.getAuthorities())), Outcomes.SUCCESS)
+                        : AuthenticationResult.anonymous(Outcomes.UNAUTHORIZED))
+                .onErrorResume(UsernameNotFoundException.class, ex -> {
+                    log.debug("JWT subject not found (id/email): {}", subject);
+                    exchange.getResponse().getHeaders().add("X-Log-Message", "JWT subject not found");
+                    return Mono.just(AuthenticationResult.anonymous(Outcomes.NOT_FOUND));
+                })
+                .onErrorResume(ex -> {
+                    log.warn("JWT processing error: {}", ex.getMessage());
+                    return Mono.just(AuthenticationResult.anonymous(Outcomes.ERROR));
+                })
+                .defaultIfEmpty(AuthenticationResult.anonymous(Outcomes.NOT_FOUND));
+    }
+
+    // Попадание в кэш обслуживается на месте; промах — блокирующее чтение Mongo, уводим его с event loop
+    private Mono<UserDetails> loadPrincipal(String subject) {
+        return Mono.justOrEmpty(principalCache.getIfPresent(subject))
+                .switchIfEmpty(Mono.fromCallable(() -> principalCache.get(subject, userDetailsService::loadUserByUsername))
+                        .subscribeOn(Schedulers.boundedElastic()));
+    }
+}
@@ -3,6 +3,7 @@ package com.cryptowallet.service;
 import com.cryptowallet.entity.User;
 import com.cryptowallet.exception.BadCredentialsException;
 import com.cryptowallet.exception.EmailAlreadyExistsException;
+import com.cryptowallet.exception.HashingCapacityExceededException;
 import com.cryptowallet.exception.UserNotFoundException;
 import com.cryptowallet.exception.UsernameAlreadyExistsException;
 import com.cryptowallet.dto.LoginRequest;
@@ -10,7 +11,8 @@ import com.cryptowallet.payload.request.RegisterRequest;
 import com.cryptowallet.payload.response.AuthResponse;
 import com.cryptowallet.repository.UserRepository;
 import com.cryptowallet.security.JwtUtil;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.cryptowallet.security.PasswordHashingService;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -23,40 +25,37 @@ public class AuthService {
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class); // Добавляем логгер
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtil jwtUtil;
     private final WalletService walletService;
 
     public AuthService(UserRepository userRepository,
-                       PasswordEncoder passwordEncoder,
+                       PasswordHashingService passwordHashingService,
                        JwtUtil jwtUtil,
                        WalletService walletService) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.jwtUtil = jwtUtil;
         this.walletService = walletService;
     }
 
     public AuthResponse registerUser(RegisterRequest registerRequest) {
-        if (userRepository.existsByUsername(registerRequest.getUsername())) {
-            logger.warn("Registration failed: username already taken. username={}", registerRequest.getUsername());
-            throw new UsernameAlreadyExistsException("Username is already taken!");
-        }
-        if (userRepository.existsByEmail(registerRequest.getEmail())) {
-            logger.warn("Registration failed: email already in use. email={}", registerRequest.getEmail());
-            throw new EmailAlreadyExistsException("Email is already in use!");
-        }
-
         User user = new User();
         user.setId(java.util.UUID.randomUUID().toString());
         user.setUsername(registerRequest.getUsername());
         user.setEmail(registerRequest.getEmail());
-        user.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
+        user.setPassword(passwordHashingService.encode(registerRequest.getPassword()));
         user.setAge(registerRequest.getAge());
         user.setCreatedAt(LocalDateTime.now());
         user.setUpdatedAt(LocalDateTime.now());
 
-    User newUser = userRepository.save(user);
+        // Уникальность username/email проверяет сам Mongo (уникальные индексы) — без предварительных exists-запросов
+        User newUser;
+        try {
+            newUser = userRepository.insert(user);
+        } catch (DuplicateKeyException e) {
+            throw translateDuplicate(registerRequest, e);
+        }
     logger.info("Registration successful: username={}, id={}", newUser.getUsername(), newUser.getId());
         walletService.createDefaultWallets(newUser);
 
@@ -64,8 +63,22 @@ public class AuthService {
         return new AuthResponse(jwt);
     }
 
+    // Какой именно ключ занят, видно по имени индекса в сообщении об ошибке (см. User)
+    private RuntimeException translateDuplicate(RegisterRequest registerRequest, DuplicateKeyException e) {
+        String message = String.valueOf(e.getMessage());
+        if (message.contains(User.EMAIL_INDEX)) {
+            logger.warn("Registration failed: email already in use. email={}", registerRequest.getEmail());
+            return new EmailAlreadyExistsException("Email is already in use!");
+        }
+        if (message.contains(User.USERNAME_INDEX)) {
+            logger.warn("Registration failed: username already taken. username={}", registerRequest.getUsername());
+            return new UsernameAlreadyExistsException("Username is already taken!");
+        }
+        return e;
+    }
+
     public AuthResponse loginUser(LoginRequest loginRequest) {
-    logger.info("Attempting login for username: {}", loginRequest.getUsername());
+    logger.debug("Attempting login for username: {}", loginRequest.getUsername());
 
         User user = userRepository.findByUsername(loginRequest.getUsername())
         .orElseThrow(() -> {
@@ -73,13 +86,29 @@ public class AuthService {
             return new UserNotFoundException("User not found with username: " + loginRequest.getUsername());
         });
 
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(loginRequest.getPassword(), user.getPassword())) {
             logger.warn("Login failed: invalid password. username={}", loginRequest.getUsername());
             throw new BadCredentialsException("Invalid password");
         }
+        upgradePasswordHash(user, loginRequest.getPassword());
 
         String jwt = jwtUtil.generateTokenForSubject(user.getId());
         logger.info("Login successful: username={}, id={}", user.getUsername(), user.getId());
         return new AuthResponse(jwt);
     }
+
+    // Пароль только что проверен — если хэш устарел (алгоритм/стоимость), тихо пересчитываем его.
+    // Неудача не должна мешать входу: попробуем при следующем логине.
+    private void upgradePasswordHash(User user, String rawPassword) {
+        if (!passwordHashingService.needsUpgrade(user.getPassword())) {
+            return;
+        }
+        try {
+            user.setPassword(passwordHashingService.encode(rawPassword));
+            userRepository.save(user);
+            logger.info("Password hash upgraded: id={}", user.getId());
+        } catch (HashingCapacityExceededException e) {
+            logger.debug("Password hash upgrade postponed: id={}", user.getId());
+        }
+    }
 }
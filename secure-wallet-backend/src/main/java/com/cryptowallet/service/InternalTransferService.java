@@ -0,0 +1,243 @@
+package com.cryptowallet.service;
+
+import com.cryptowallet.cache.WalletVersions;
+import com.cryptowallet.dto.TransactionDTO;
+import com.cryptowallet.entity.Transaction;
+import com.cryptowallet.entity.Wallet;
+import com.cryptowallet.exception.TransferNotAllowedException;
+import com.cryptowallet.exception.WalletNotFoundException;
+import com.cryptowallet.ledger.HotWallets;
+import com.cryptowallet.money.CurrencyScales;
+import com.cryptowallet.money.Money;
+import com.cryptowallet.repository.TransactionRepository;
+import com.cryptowallet.repository.WalletRepository;
+import com.cryptowallet.summary.PortfolioSummaries;
+import com.mongodb.MongoException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// Перевод на адрес, который принадлежит кошельку сервиса: списание, зачисление получателю и пара записей
+// send/receive выполняются в одной транзакции Mongo (нужен replica set) — либо всё, либо ничего.
+// Транзакция целиком повторяется при ошибках с метками TransientTransactionError / UnknownTransactionCommitResult
+@Service
+public class InternalTransferService {
+    private static final Logger log = LoggerFactory.getLogger(InternalTransferService.class);
+    static final int MAX_ATTEMPTS = 5;
+    static final Duration BACKOFF = Duration.ofMillis(20);
+
+    private final WalletRepository walletRepository;
+    private final TransactionRepository transactionRepository;
+    private final HotWallets hotWallets;
+    private final WalletVersions walletVersions;
+    private final PortfolioSummaries portfolioSummaries;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+
+    public InternalTransferService(WalletRepository walletRepository,
+                                   TransactionRepository transactionRepository,
+                                   HotWallets hotWallets,
+                                   WalletVersions walletVersions,
+                                   PortfolioSummaries portfolioSummaries,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${transfers.internal.enabled:true}") boolean enabled) {
+        this.walletRepository = walletRepository;
+        this.transactionRepository = transactionRepository;
+        this.hotWallets = hotWallets;
+        this.walletVersions = walletVersions;
+        this.portfolioSummaries = portfolioSummaries;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+    }
+
+    // Кошелёк сервиса с этим адресом; пусто — внешняя отправка (или внутренние переводы выключены)
+    public Optional<Wallet> recipient(String toAddress) {
+        if (!enabled || toAddress == null || toAddress.isBlank()) {
+            return Optional.empty();
+        }
+        return walletRepository.findByAddress(toAddress);
+    }
+
+    public TransactionDTO transfer(String userId, String fromWalletId, Wallet recipient, Money amount) {
+        Transfer transfer = Transfer.of(userId, fromWalletId, recipient, amount);
+        portfolioSummaries.sending(userId);
+        boolean completed;
+        try {
+            completed = complete(transfer);
+        } catch (RuntimeException e) {
+            portfolioSummaries.notSent(userId);
+            throw e;
+        }
+        portfolioSummaries.sent(userId, completed ? List.of(transfer.send()) : List.of());
+        if (!completed) {
+            throw transferFailure(fromWalletId, userId, amount, recipient);
+        }
+        // Перевод меняет кошельки двух пользователей
+        walletVersions.bump(userId);
+        walletVersions.bump(recipient.getUserId());
+        portfolioSummaries.received(recipient.getUserId(), transfer.receive());
+        return TransactionService.convertToDTO(transfer.send());
+    }
+
+    // false — списание не прошло и ничего не записано
+    private boolean complete(Transfer transfer) {
+        if (commit(transfer, true)) {
+            return true;
+        }
+        // «Горячий» кошелёк (журнал или полосы) в транзакции не списать (см. HotWallets): списываем его заранее,
+        // а если транзакция так и не прошла — возвращаем списанное
+        Transaction send = transfer.send();
+        Optional<Wallet> debited = hotWallets.debit(send.getWalletId(), send.getUserId(), send.getAmount(),
+                send.getCurrency());
+        if (debited.isEmpty()) {
+            return false;
+        }
+        try {
+            commit(transfer, false);
+        } catch (RuntimeException e) {
+            refundUnlessCommitted(transfer, debited.get(), e);
+            throw e;
+        }
+        return true;
+    }
+
+    // После UnknownTransactionCommitResult на последней попытке транзакция могла закоммититься. Отметка коммита —
+    // запись send (как и дубликат в commit): если она есть, возврат начислил бы деньги второй раз
+    private void refundUnlessCommitted(Transfer transfer, Wallet debited, RuntimeException error) {
+        if (transactionRepository.existsById(transfer.send().getId())) {
+            log.error("Internal transfer {} is recorded despite the error, wallet {} not refunded: {}",
+                    transfer.send().getTransferId(), debited.getId(), error.getMessage());
+            return;
+        }
+        hotWallets.credit(debited, transfer.send().getAmount());
+    }
+
+    // Транзакция с повторами; false — списание не прошло и ничего не записано
+    private boolean commit(Transfer transfer, boolean debit) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return Boolean.TRUE.equals(transactionTemplate.execute(status -> settle(transfer, debit)));
+            } catch (DuplicateKeyException e) {
+                // Записи с этими id уже есть: предыдущая попытка всё-таки закоммитилась, а эта откатилась целиком
+                if (attempt > 1) {
+                    return true;
+                }
+                throw e;
+            } catch (RuntimeException e) {
+                if (attempt >= MAX_ATTEMPTS || !isRetryable(e)) {
+                    throw e;
+                }
+                log.debug("Internal transfer {}: attempt {} failed with a transient error, retrying",
+                        transfer.send().getTransferId(), attempt);
+                pause(attempt, e);
+            }
+        }
+    }
+
+    // Тело транзакции. false — списание не прошло (ничего не записано), причину выясняем уже вне транзакции
+    private boolean settle(Transfer transfer, boolean debit) {
+        Transaction send = transfer.send();
+        Transaction receive = transfer.receive();
+        if (debit && walletRepository.debitForTransfer(send.getWalletId(), send.getUserId(), send.getAmount(),
+                receive.getCurrency()).isEmpty()) {
+            return false;
+        }
+        if (!hotWallets.credit(transfer.recipient(), receive.getAmount())) {
+            // Исключение откатывает и списание
+            throw new WalletNotFoundException("Recipient wallet not found");
+        }
+        transactionRepository.insert(List.of(send, receive));
+        return true;
+    }
+
+    private RuntimeException transferFailure(String walletId, String userId, Money amount, Wallet recipient) {
+        Wallet wallet = walletRepository.findById(walletId).orElse(null);
+        if (wallet == null) {
+            return new WalletNotFoundException("Wallet not found");
+        }
+        return transferFailure(wallet, userId, amount, recipient);
+    }
+
+    // Валюту сравниваем только для владельца — чужому кошельку достаётся прежний отказ в доступе
+    static RuntimeException transferFailure(Wallet wallet, String userId, Money amount, Wallet recipient) {
+        if (userId.equals(wallet.getUserId()) && !wallet.getSymbol().equals(recipient.getSymbol())) {
+            return new TransferNotAllowedException("Cannot transfer " + wallet.getSymbol() + " to a "
+                    + recipient.getSymbol() + " wallet");
+        }
+        return TransactionService.debitFailure(wallet, userId, amount);
+    }
+
+    // Метки ставит драйвер; Spring заворачивает MongoException в свои исключения, поэтому идём по цепочке причин
+    static boolean isRetryable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongo
+                    && (mongo.hasErrorLabel(MongoException.TRANSIENT_TRANSACTION_ERROR_LABEL)
+                    || mongo.hasErrorLabel(MongoException.UNKNOWN_TRANSACTION_COMMIT_RESULT_LABEL))) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static void pause(int attempt, RuntimeException error) {
+        try {
+            Thread.sleep(BACKOFF.toMillis() * attempt);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw error;
+        }
+    }
+
+    // Пара записей создаётся до транзакции: при повторе вставляются те же id, и дубликат выдаёт уже прошедший коммит
+    record Transfer(Transaction send, Transaction receive, Wallet recipient) {
+
+        static Transfer of(String userId, String fromWalletId, Wallet recipient, Money amount) {
+            if (recipient.getId().equals(fromWalletId)) {
+                throw new TransferNotAllowedException("Cannot transfer to the same wallet");
+            }
+            // Валюты отправителя и получателя совпадают, поэтому точность проверяется по получателю ещё до списания
+            if (!CurrencyScales.allows(recipient.getSymbol(), amount)) {
+                throw TransactionService.tooPrecise(recipient.getSymbol());
+            }
+            String transferId = UUID.randomUUID().toString();
+            LocalDateTime timestamp = LocalDateTime.now();
+            Transaction send = Transaction.builder()
+                    .id(UUID.randomUUID().toString())
+                    .walletId(fromWalletId)
+                    .userId(userId)
+                    .type("send")
+                    .amount(amount)
+                    .toAddress(recipient.getAddress())
+                    .status("completed")
+                    .timestamp(timestamp)
+                    .currency(recipient.getSymbol())
+                    .transferId(transferId)
+                    .build();
+            Transaction receive = Transaction.builder()
+                    .id(UUID.randomUUID().toString())
+                    .walletId(recipient.getId())
+                    .userId(recipient.getUserId())
+                    .type("receive")
+                    .amount(amount)
+                    .toAddress(recipient.getAddress())
+                    .status("completed")
+                    .timestamp(timestamp)
+                    .currency(recipient.getSymbol())
+                    .transferId(transferId)
+                    .build();
+            return new Transfer(send, receive, recipient);
+        }
+    }
+}
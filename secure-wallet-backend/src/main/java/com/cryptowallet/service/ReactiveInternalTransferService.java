@@ -0,0 +1,135 @@
+package com.cryptowallet.service;
+
+import com.cryptowallet.cache.ReactiveWalletVersions;
+import com.cryptowallet.dto.TransactionDTO;
+import com.cryptowallet.entity.Transaction;
+import com.cryptowallet.entity.Wallet;
+import com.cryptowallet.exception.WalletNotFoundException;
+import com.cryptowallet.ledger.ReactiveHotWallets;
+import com.cryptowallet.money.Money;
+import com.cryptowallet.repository.ReactiveTransactionRepository;
+import com.cryptowallet.repository.ReactiveWalletRepository;
+import com.cryptowallet.summary.ReactivePortfolioSummaries;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Реактивный вариант InternalTransferService: та же транзакция через TransactionalOperator и тот же повтор
+@Service
+@Profile("reactive")
+public class ReactiveInternalTransferService {
+    private static final Logger log = LoggerFactory.getLogger(ReactiveInternalTransferService.class);
+
+    private final ReactiveWalletRepository walletRepository;
+    private final ReactiveTransactionRepository transactionRepository;
+    private final ReactiveHotWallets hotWallets;
+    private final ReactiveWalletVersions walletVersions;
+    private final ReactivePortfolioSummaries portfolioSummaries;
+    private final TransactionalOperator transactionalOperator;
+    private final boolean enabled;
+
+    public ReactiveInternalTransferService(ReactiveWalletRepository walletRepository,
+                                           ReactiveTransactionRepository transactionRepository,
+                                           ReactiveHotWallets hotWallets,
+                                           ReactiveWalletVersions walletVersions,
+                                           ReactivePortfolioSummaries portfolioSummaries,
+                                           TransactionalOperator transactionalOperator,
+                                           @Value("${transfers.internal.enabled:true}") boolean enabled) {
+        this.walletRepository = walletRepository;
+        this.transactionRepository = transactionRepository;
+        this.hotWallets = hotWallets;
+        this.walletVersions = walletVersions;
+        this.portfolioSummaries = portfolioSummaries;
+        this.transactionalOperator = transactionalOperator;
+        this.enabled = enabled;
+    }
+
+    public Mono<Wallet> recipient(String toAddress) {
+        if (!enabled || toAddress == null || toAddress.isBlank()) {
+            return Mono.empty();
+        }
+        return walletRepository.findByAddress(toAddress);
+    }
+
+    public Mono<TransactionDTO> transfer(String userId, String fromWalletId, Wallet recipient, Money amount) {
+        return Mono.fromSupplier(() -> InternalTransferService.Transfer.of(userId, fromWalletId, recipient, amount))
+                .flatMap(transfer -> portfolioSummaries.recording(userId, complete(transfer),
+                                completed -> completed ? List.of(transfer.send()) : List.of())
+                        .flatMap(completed -> completed
+                                ? Mono.just(transfer)
+                                : transferFailure(fromWalletId, userId, amount, recipient)))
+                .flatMap(transfer -> walletVersions.bump(userId)
+                        .then(walletVersions.bump(recipient.getUserId()))
+                        .then(portfolioSummaries.received(recipient.getUserId(), transfer.receive()))
+                        .thenReturn(transfer))
+                .map(transfer -> TransactionService.convertToDTO(transfer.send()));
+    }
+
+    // false — списание не прошло и ничего не записано
+    private Mono<Boolean> complete(InternalTransferService.Transfer transfer) {
+        Transaction send = transfer.send();
+        return commit(transfer, true).flatMap(settled -> settled
+                ? Mono.just(true)
+                // «Горячий» кошелёк списывается заранее, при неудаче списанное возвращается
+                : hotWallets.debit(send.getWalletId(), send.getUserId(), send.getAmount(), send.getCurrency())
+                        .flatMap(debited -> commit(transfer, false)
+                                .onErrorResume(e -> refundUnlessCommitted(transfer, debited, e).then(Mono.error(e))))
+                        .defaultIfEmpty(false));
+    }
+
+    // Как в InternalTransferService: запись send есть — транзакция закоммитилась, списанное не возвращается
+    private Mono<Void> refundUnlessCommitted(InternalTransferService.Transfer transfer, Wallet debited, Throwable error) {
+        return transactionRepository.existsById(transfer.send().getId())
+                .flatMap(committed -> {
+                    if (committed) {
+                        log.error("Internal transfer {} is recorded despite the error, wallet {} not refunded: {}",
+                                transfer.send().getTransferId(), debited.getId(), error.getMessage());
+                        return Mono.empty();
+                    }
+                    return hotWallets.credit(debited, transfer.send().getAmount()).then();
+                });
+    }
+
+    private Mono<Boolean> commit(InternalTransferService.Transfer transfer, boolean debit) {
+        AtomicInteger attempts = new AtomicInteger();
+        return Mono.defer(() -> {
+                    attempts.incrementAndGet();
+                    return transactionalOperator.transactional(settle(transfer, debit));
+                })
+                // Дубликат на повторе — предыдущая попытка всё-таки закоммитилась
+                .onErrorResume(DuplicateKeyException.class,
+                        e -> attempts.get() > 1 ? Mono.just(true) : Mono.error(e))
+                .retryWhen(Retry.backoff(InternalTransferService.MAX_ATTEMPTS - 1, InternalTransferService.BACKOFF)
+                        .filter(InternalTransferService::isRetryable)
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    private Mono<Boolean> settle(InternalTransferService.Transfer transfer, boolean debit) {
+        Mono<Boolean> debited = debit
+                ? walletRepository.debitForTransfer(transfer.send().getWalletId(), transfer.send().getUserId(),
+                        transfer.send().getAmount(), transfer.receive().getCurrency()).map(wallet -> true)
+                : Mono.just(true);
+        return debited
+                .flatMap(ok -> hotWallets.credit(transfer.recipient(), transfer.receive().getAmount()))
+                .flatMap(credited -> credited
+                        ? transactionRepository.insert(List.of(transfer.send(), transfer.receive())).then(Mono.just(true))
+                        : Mono.<Boolean>error(() -> new WalletNotFoundException("Recipient wallet not found")))
+                .defaultIfEmpty(false);
+    }
+
+    private <T> Mono<T> transferFailure(String walletId, String userId, Money amount, Wallet recipient) {
+        return walletRepository.findById(walletId)
+                .flatMap(wallet -> Mono.<T>error(
+                        InternalTransferService.transferFailure(wallet, userId, amount, recipient)))
+                .switchIfEmpty(Mono.error(() -> new WalletNotFoundException("Wallet not found")));
+    }
+}
@@ -0,0 +1,134 @@
+package com.cryptowallet.service;
+
+import com.cryptowallet.cache.ReactiveWalletVersions;
+import com.cryptowallet.dto.*;
+import com.cryptowallet.entity.Transaction;
+import com.cryptowallet.entity.Wallet;
+import com.cryptowallet.exception.WalletNotFoundException;
+import com.cryptowallet.ledger.ReactiveHotWallets;
+import com.cryptowallet.money.Money;
+import com.cryptowallet.repository.ReactiveTransactionRepository;
+import com.cryptowallet.repository.ReactiveWalletRepository;
+import com.cryptowallet.summary.ReactivePortfolioSummaries;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+// Реактивный вариант TransactionService (профиль reactive): то же атомарное списание одним findAndModify
+@Service
+@Profile("reactive")
+public class ReactiveTransactionService {
+    private static final Logger log = LoggerFactory.getLogger(ReactiveTransactionService.class);
+    private final ReactiveTransactionRepository transactionRepository;
+    private final ReactiveWalletRepository walletRepository;
+    private final ReactiveInternalTransferService internalTransfers;
+    private final ReactiveHotWallets hotWallets;
+    private final ReactiveWalletVersions walletVersions;
+    private final ReactivePortfolioSummaries portfolioSummaries;
+
+    public ReactiveTransactionService(ReactiveTransactionRepository transactionRepository,
+                                      ReactiveWalletRepository walletRepository,
+                                      ReactiveInternalTransferService internalTransfers,
+                                      ReactiveHotWallets hotWallets,
+                                      ReactiveWalletVersions walletVersions,
+                                      ReactivePortfolioSummaries portfolioSummaries) {
+        this.transactionRepository = transactionRepository;
+        this.walletRepository = walletRepository;
+        this.internalTransfers = internalTransfers;
+        this.hotWallets = hotWallets;
+        this.walletVersions = walletVersions;
+        this.portfolioSummaries = portfolioSummaries;
+    }
+
+    public Mono<TransactionPageDTO> getUserTransactionsPage(String userId, String cursor, int limit) {
+        int pageSize = TransactionService.clampPageSize(limit);
+        return Mono.fromSupplier(() -> Optional.ofNullable(TransactionCursor.decode(cursor)))
+                .flatMap(after -> transactionRepository.findUserPage(userId,
+                                after.map(TransactionCursor::getTimestamp).orElse(null),
+                                after.map(TransactionCursor::getId).orElse(null),
+                                pageSize + 1)
+                        .collectList())
+                .map(fetched -> TransactionService.toPage(fetched, pageSize));
+    }
+
+    public Flux<TransactionDTO> streamUserTransactions(String userId) {
+        return transactionRepository.streamByUser(userId).map(TransactionService::convertToDTO);
+    }
+
+    public Mono<TransactionDTO> sendTransaction(String userId, SendTransactionRequest request) {
+        return Mono.fromSupplier(() -> TransactionService.requirePositive(request.getAmount()))
+                .flatMap(amount -> internalTransfers.recipient(request.getToAddress())
+                        .flatMap(recipient -> internalTransfers.transfer(userId, request.getFromWalletId(), recipient, amount))
+                        .switchIfEmpty(Mono.defer(() -> sendExternal(userId, request, amount))));
+    }
+
+    private Mono<TransactionDTO> sendExternal(String userId, SendTransactionRequest request, Money amount) {
+        return walletRepository.debitIfSufficient(request.getFromWalletId(), userId, amount)
+                .switchIfEmpty(Mono.defer(() -> hotWallets.debit(request.getFromWalletId(), userId, amount)))
+                .switchIfEmpty(Mono.defer(() -> debitFailure(request.getFromWalletId(), userId, amount)))
+                .flatMap(wallet -> bumpingAfter(userId, portfolioSummaries.recording(userId, transactionRepository.save(Transaction.builder()
+                        .id(UUID.randomUUID().toString())
+                        .walletId(wallet.getId())
+                        .userId(wallet.getUserId())
+                        .type("send")
+                        .amount(amount)
+                        .toAddress(request.getToAddress())
+                        .status("completed")
+                        .timestamp(LocalDateTime.now())
+                        .currency(wallet.getSymbol())
+                        .build()), List::of)))
+                .map(TransactionService::convertToDTO);
+    }
+
+    // Тот же порядок, что в TransactionService.sendBatch: чтение кошелька, одно списание, одна bulk-вставка
+    public Mono<SendBatchResultDTO> sendBatch(String userId, SendBatchRequest request) {
+        return Mono.fromSupplier(() -> SendBatchPlan.requireItems(request))
+                .flatMap(items -> walletRepository.findByIdAndUserId(request.getFromWalletId(), userId)
+                        .switchIfEmpty(Mono.error(() -> new WalletNotFoundException("Wallet not found")))
+                        .map(source -> SendBatchPlan.of(items, source.getSymbol())))
+                .flatMap(plan -> plan.isEmpty()
+                        ? Mono.just(plan.rejectedResult())
+                        : walletRepository.debitIfSufficient(request.getFromWalletId(), userId, plan.total())
+                                .switchIfEmpty(Mono.defer(() -> hotWallets.debit(request.getFromWalletId(), userId, plan.total())))
+                                .switchIfEmpty(Mono.defer(() -> debitFailure(request.getFromWalletId(), userId, plan.total())))
+                                .flatMap(wallet -> bumpingAfter(userId, record(plan, wallet))));
+    }
+
+    // Как finally в TransactionService: версия поднимается после записи — успешной, с ошибкой или отменённой
+    private <T> Mono<T> bumpingAfter(String userId, Mono<T> write) {
+        return Mono.usingWhen(Mono.just(userId), id -> write,
+                walletVersions::bump,
+                (id, error) -> walletVersions.bump(id),
+                walletVersions::bump);
+    }
+
+    private Mono<SendBatchResultDTO> record(SendBatchPlan plan, Wallet wallet) {
+        List<Transaction> transactions = plan.transactions(wallet);
+        return portfolioSummaries.recording(wallet.getUserId(), transactionRepository.bulkInsert(transactions),
+                failed -> SendBatchPlan.recorded(transactions, failed)).flatMap(failed -> {
+            if (failed.isEmpty()) {
+                return Mono.just(plan.result(transactions, Set.of(), plan.total()));
+            }
+            Money refund = SendBatchPlan.refund(transactions, failed);
+            log.warn("Batch send: {} of {} transactions not recorded, refunded {} to wallet {}",
+                    failed.size(), transactions.size(), refund, wallet.getId());
+            return hotWallets.credit(wallet, refund)
+                    .thenReturn(plan.result(transactions, failed, plan.total().subtract(refund)));
+        });
+    }
+
+    // Списание не прошло — дочитываем кошелёк только на этом пути, чтобы вернуть точную причину
+    private Mono<Wallet> debitFailure(String walletId, String userId, Money amount) {
+        return walletRepository.findById(walletId)
+                .flatMap(wallet -> Mono.<Wallet>error(TransactionService.debitFailure(wallet, userId, amount)))
+                .switchIfEmpty(Mono.error(() -> new WalletNotFoundException("Wallet not found")));
+    }
+}
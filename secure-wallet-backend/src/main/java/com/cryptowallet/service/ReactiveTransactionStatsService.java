@@ -0,0 +1,48 @@
+package com.cryptowallet.service;
+
+import com.cryptowallet.cache.ClosedStatsBuckets;
+import com.cryptowallet.dto.TransactionStatsDTO;
+import com.cryptowallet.repository.ReactiveTransactionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Реактивный вариант TransactionStatsService; кэш закрытых интервалов общий
+@Service
+@Profile("reactive")
+public class ReactiveTransactionStatsService {
+    private final ReactiveTransactionRepository transactionRepository;
+    private final ClosedStatsBuckets closedBuckets;
+    private final int maxBuckets;
+    private final Duration closedAfter;
+
+    public ReactiveTransactionStatsService(ReactiveTransactionRepository transactionRepository,
+                                           ClosedStatsBuckets closedBuckets,
+                                           @Value("${transactions.stats.max-buckets:1000}") int maxBuckets,
+                                           @Value("${transactions.stats.closed-after:1m}") Duration closedAfter) {
+        this.transactionRepository = transactionRepository;
+        this.closedBuckets = closedBuckets;
+        this.maxBuckets = maxBuckets;
+        this.closedAfter = closedAfter;
+    }
+
+    public Mono<TransactionStatsDTO> getStats(String userId, String interval, String from, String to) {
+        return Mono.fromSupplier(() -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    return TransactionStatsPlan.of(userId, interval, from, to, maxBuckets, now, now.minus(closedAfter));
+                })
+                .flatMap(plan -> {
+                    LocalDateTime queryFrom = plan.queryFrom(closedBuckets);
+                    Mono<List<TransactionStatsDTO.Bucket>> fetched = queryFrom != null
+                            ? transactionRepository.aggregateStats(userId, queryFrom, plan.to(), plan.bucketFormat())
+                                    .collectList()
+                            : Mono.just(List.of());
+                    return fetched.map(rows -> plan.result(rows, closedBuckets));
+                });
+    }
+}
@@ -0,0 +1,90 @@
+package com.cryptowallet.service;
+
+import com.cryptowallet.cache.ReactiveWalletVersions;
+import com.cryptowallet.cache.WalletSnapshots;
+import com.cryptowallet.dto.*;
+import com.cryptowallet.exception.WalletNotFoundException;
+import com.cryptowallet.ledger.ReactiveHotWallets;
+import com.cryptowallet.money.Money;
+import com.cryptowallet.repository.ReactiveTransactionRepository;
+import com.cryptowallet.repository.ReactiveWalletRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.util.List;
+import java.util.Optional;
+
+// Реактивный вариант WalletService (профиль reactive): те же запросы и DTO, но без блокировки потоков
+@Service
+@Profile("reactive")
+public class ReactiveWalletService {
+    private final ReactiveWalletRepository walletRepository;
+    private final ReactiveTransactionRepository transactionRepository;
+    private final ReactiveHotWallets hotWallets;
+    private final WalletSnapshots snapshots;
+    private final ReactiveWalletVersions walletVersions;
+
+    public ReactiveWalletService(ReactiveWalletRepository walletRepository,
+                                 ReactiveTransactionRepository transactionRepository,
+                                 ReactiveHotWallets hotWallets,
+                                 WalletSnapshots snapshots,
+                                 ReactiveWalletVersions walletVersions) {
+        this.walletRepository = walletRepository;
+        this.transactionRepository = transactionRepository;
+        this.hotWallets = hotWallets;
+        this.snapshots = snapshots;
+        this.walletVersions = walletVersions;
+    }
+
+    public Flux<WalletDTO> getUserWallets(String userId, long version) {
+        return snapshots.get(userId, version, loadUserWallets(userId)).flatMapIterable(wallets -> wallets);
+    }
+
+    private Mono<List<WalletDTO>> loadUserWallets(String userId) {
+        return walletRepository.findByUserId(userId)
+                .collectList()
+                .flatMap(wallets -> hotWallets.exactBalances(wallets)
+                        .map(exact -> wallets.stream()
+                                .map(wallet -> WalletService.convertToDTO(wallet, exact))
+                                .toList()));
+    }
+
+    // Как и в WalletService — из снимка списка
+    public Mono<WalletDTO> getWallet(String walletId, String userId, long version) {
+        return snapshots.get(userId, version, loadUserWallets(userId))
+                .flatMap(wallets -> Mono.justOrEmpty(WalletService.findWallet(wallets, walletId)))
+                .switchIfEmpty(Mono.error(() -> new WalletNotFoundException("Wallet not found")));
+    }
+
+    public Mono<WalletDTO> createWallet(String userId, CreateWalletRequest request) {
+        return Mono.fromSupplier(() -> WalletService.buildWallet(userId, request.getName(),
+                        request.getCurrency(), request.getCurrency(), Money.ZERO))
+                .flatMap(walletRepository::save)
+                .flatMap(wallet -> walletVersions.bump(userId).thenReturn(wallet))
+                .map(WalletService::convertToDTO);
+    }
+
+    public Mono<TransactionPageDTO> getWalletTransactionsPage(String walletId, String userId, String cursor, int limit) {
+        int pageSize = TransactionService.clampPageSize(limit);
+        return requireOwnedWallet(walletId, userId)
+                .then(Mono.fromSupplier(() -> Optional.ofNullable(TransactionCursor.decode(cursor))))
+                .flatMap(after -> transactionRepository.findWalletPage(walletId,
+                                after.map(TransactionCursor::getTimestamp).orElse(null),
+                                after.map(TransactionCursor::getId).orElse(null),
+                                pageSize + 1)
+                        .collectList())
+                .map(fetched -> TransactionService.toPage(fetched, pageSize));
+    }
+
+    public Flux<TransactionDTO> streamWalletTransactions(String walletId, String userId) {
+        return requireOwnedWallet(walletId, userId)
+                .thenMany(transactionRepository.streamByWallet(walletId))
+                .map(TransactionService::convertToDTO);
+    }
+
+    private Mono<Void> requireOwnedWallet(String walletId, String userId) {
+        return walletRepository.existsByIdAndUserId(walletId, userId)
+                .flatMap(owned -> owned ? Mono.<Void>empty() : Mono.error(new WalletNotFoundException("Wallet not found")));
+    }
+}
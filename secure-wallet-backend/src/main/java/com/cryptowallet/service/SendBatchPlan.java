@@ -0,0 +1,153 @@
+package com.cryptowallet.service;
+
+import com.cryptowallet.dto.SendBatchRequest;
+import com.cryptowallet.dto.SendBatchResultDTO;
+import com.cryptowallet.entity.Transaction;
+import com.cryptowallet.entity.Wallet;
+import com.cryptowallet.exception.InvalidBatchException;
+import com.cryptowallet.money.CurrencyScales;
+import com.cryptowallet.money.Money;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+// Разбор пакетной выплаты, общий для блокирующего и реактивного сервисов: проверка позиций по валюте кошелька,
+// итоговая сумма к списанию, документы транзакций и сборка ответа по позициям
+final class SendBatchPlan {
+    static final int MAX_BATCH_SIZE = 1000;
+
+    private final List<SendBatchRequest.Item> items;
+    // Причина отказа по позиции запроса; null — позиция принята
+    private final String[] rejections;
+    private final List<Integer> accepted;
+    private final Money total;
+
+    private SendBatchPlan(List<SendBatchRequest.Item> items, String[] rejections, List<Integer> accepted, Money total) {
+        this.items = items;
+        this.rejections = rejections;
+        this.accepted = accepted;
+        this.total = total;
+    }
+
+    // Размер пакета проверяется до любых обращений к базе
+    static List<SendBatchRequest.Item> requireItems(SendBatchRequest request) {
+        List<SendBatchRequest.Item> items = request.getItems();
+        if (items == null || items.isEmpty()) {
+            throw new InvalidBatchException("Batch must contain at least one item");
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new InvalidBatchException("Batch must contain at most " + MAX_BATCH_SIZE + " items");
+        }
+        return items;
+    }
+
+    static SendBatchPlan of(List<SendBatchRequest.Item> items, String symbol) {
+        String[] rejections = new String[items.size()];
+        List<Integer> accepted = new ArrayList<>(items.size());
+        Money total = Money.ZERO;
+        for (int i = 0; i < items.size(); i++) {
+            SendBatchRequest.Item item = items.get(i);
+            String rejection = rejection(item, symbol);
+            if (rejection == null) {
+                try {
+                    total = total.add(item.getAmount());
+                    accepted.add(i);
+                } catch (ArithmeticException e) {
+                    rejection = "Batch total is out of range";
+                }
+            }
+            rejections[i] = rejection;
+        }
+        return new SendBatchPlan(items, rejections, accepted, total);
+    }
+
+    private static String rejection(SendBatchRequest.Item item, String symbol) {
+        if (item == null || item.getToAddress() == null || item.getToAddress().isBlank()) {
+            return "Recipient address is required";
+        }
+        if (item.getAmount() == null || !item.getAmount().isPositive()) {
+            return "Amount must be greater than 0";
+        }
+        if (!CurrencyScales.allows(symbol, item.getAmount())) {
+            return "Amount has more than " + CurrencyScales.of(symbol) + " decimal places for " + symbol;
+        }
+        return null;
+    }
+
+    boolean isEmpty() {
+        return accepted.isEmpty();
+    }
+
+    Money total() {
+        return total;
+    }
+
+    // Документы принятых позиций в порядке запроса; одна метка времени на весь пакет
+    List<Transaction> transactions(Wallet wallet) {
+        LocalDateTime timestamp = LocalDateTime.now();
+        List<Transaction> transactions = new ArrayList<>(accepted.size());
+        for (int index : accepted) {
+            SendBatchRequest.Item item = items.get(index);
+            transactions.add(Transaction.builder()
+                    .id(UUID.randomUUID().toString())
+                    .walletId(wallet.getId())
+                    .userId(wallet.getUserId())
+                    .type("send")
+                    .amount(item.getAmount())
+                    .toAddress(item.getToAddress())
+                    .status("completed")
+                    .timestamp(timestamp)
+                    .currency(wallet.getSymbol())
+                    .build());
+        }
+        return transactions;
+    }
+
+    // Сумма позиций, которые были списаны, но не вставились (failed — позиции в списке transactions)
+    static Money refund(List<Transaction> transactions, Set<Integer> failed) {
+        Money refund = Money.ZERO;
+        for (int position : failed) {
+            refund = refund.add(transactions.get(position).getAmount());
+        }
+        return refund;
+    }
+
+    static List<Transaction> recorded(List<Transaction> transactions, Set<Integer> failed) {
+        List<Transaction> recorded = new ArrayList<>(transactions.size() - failed.size());
+        for (int position = 0; position < transactions.size(); position++) {
+            if (!failed.contains(position)) {
+                recorded.add(transactions.get(position));
+            }
+        }
+        return recorded;
+    }
+
+    SendBatchResultDTO result(List<Transaction> transactions, Set<Integer> failed, Money debited) {
+        SendBatchResultDTO.ItemResult[] results = new SendBatchResultDTO.ItemResult[items.size()];
+        int rejected = 0;
+        for (int i = 0; i < rejections.length; i++) {
+            if (rejections[i] != null) {
+                results[i] = new SendBatchResultDTO.ItemResult(i, SendBatchResultDTO.REJECTED, rejections[i], null);
+                rejected++;
+            }
+        }
+        for (int position = 0; position < transactions.size(); position++) {
+            int index = accepted.get(position);
+            results[index] = failed.contains(position)
+                    ? new SendBatchResultDTO.ItemResult(index, SendBatchResultDTO.FAILED, "Transaction was not recorded", null)
+                    : new SendBatchResultDTO.ItemResult(index, SendBatchResultDTO.COMPLETED, null,
+                            TransactionService.convertToDTO(transactions.get(position)));
+        }
+        return new SendBatchResultDTO(debited, transactions.size() - failed.size(), rejected, failed.size(),
+                Arrays.asList(results));
+    }
+
+    // Ни одна позиция не прошла проверку: ничего не списывалось
+    SendBatchResultDTO rejectedResult() {
+        return result(List.of(), Set.of(), Money.ZERO);
+    }
+}
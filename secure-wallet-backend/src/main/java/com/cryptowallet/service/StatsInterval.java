@@ -0,0 +1,57 @@
+package com.cryptowallet.service;
+
+import com.cryptowallet.exception.InvalidStatsRequestException;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+// Шаг /api/transactions/stats: формат начала интервала для $dateToString и то же выравнивание в Java.
+// defaultCount — сколько интервалов отдаётся, если from не задан
+enum StatsInterval {
+    HOUR(ChronoUnit.HOURS, "%Y-%m-%dT%H:00:00", 24),
+    DAY(ChronoUnit.DAYS, "%Y-%m-%dT00:00:00", 30),
+    MONTH(ChronoUnit.MONTHS, "%Y-%m-01T00:00:00", 12);
+
+    private final ChronoUnit unit;
+    private final String bucketFormat;
+    private final int defaultCount;
+
+    StatsInterval(ChronoUnit unit, String bucketFormat, int defaultCount) {
+        this.unit = unit;
+        this.bucketFormat = bucketFormat;
+        this.defaultCount = defaultCount;
+    }
+
+    static StatsInterval parse(String value) {
+        for (StatsInterval interval : values()) {
+            if (interval.name().equalsIgnoreCase(value)) {
+                return interval;
+            }
+        }
+        throw new InvalidStatsRequestException("Interval must be hour, day or month");
+    }
+
+    LocalDateTime truncate(LocalDateTime time) {
+        return this == MONTH ? time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1) : time.truncatedTo(unit);
+    }
+
+    LocalDateTime next(LocalDateTime start) {
+        return start.plus(1, unit);
+    }
+
+    LocalDateTime minus(LocalDateTime start, int count) {
+        return start.minus(count, unit);
+    }
+
+    String bucketFormat() {
+        return bucketFormat;
+    }
+
+    int defaultCount() {
+        return defaultCount;
+    }
+
+    String label() {
+        return name().toLowerCase();
+    }
+}
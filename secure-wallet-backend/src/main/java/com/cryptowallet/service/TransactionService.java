@@ -1,78 +1,208 @@
 // java
 package com.cryptowallet.service;
 
+import com.cryptowallet.cache.WalletVersions;
 import com.cryptowallet.dto.*;
 import com.cryptowallet.entity.Transaction;
 import com.cryptowallet.entity.Wallet;
+import com.cryptowallet.exception.InsufficientBalanceException;
+import com.cryptowallet.exception.InvalidAmountException;
+import com.cryptowallet.exception.WalletAccessDeniedException;
+import com.cryptowallet.exception.WalletNotFoundException;
+import com.cryptowallet.ledger.HotWallets;
+import com.cryptowallet.money.CurrencyScales;
+import com.cryptowallet.money.Money;
 import com.cryptowallet.repository.TransactionRepository;
 import com.cryptowallet.repository.WalletRepository;
-import com.cryptowallet.repository.UserRepository;
+import com.cryptowallet.summary.PortfolioSummaries;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
-import java.math.BigDecimal;
+import java.util.stream.Stream;
 
 @Service
 public class TransactionService {
+    private static final Logger log = LoggerFactory.getLogger(TransactionService.class);
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
     private final TransactionRepository transactionRepository;
     private final WalletRepository walletRepository;
-    private final UserRepository userRepository;
+    private final InternalTransferService internalTransfers;
+    private final HotWallets hotWallets;
+    private final WalletVersions walletVersions;
+    private final PortfolioSummaries portfolioSummaries;
 
     public TransactionService(TransactionRepository transactionRepository,
                               WalletRepository walletRepository,
-                              UserRepository userRepository) {
+                              InternalTransferService internalTransfers,
+                              HotWallets hotWallets,
+                              WalletVersions walletVersions,
+                              PortfolioSummaries portfolioSummaries) {
         this.transactionRepository = transactionRepository;
         this.walletRepository = walletRepository;
-        this.userRepository = userRepository;
+        this.internalTransfers = internalTransfers;
+        this.hotWallets = hotWallets;
+        this.walletVersions = walletVersions;
+        this.portfolioSummaries = portfolioSummaries;
     }
 
-    public List<TransactionDTO> getUserTransactions(String userId) {
-        return transactionRepository.findByWalletUserIdOrderByTimestampDesc(userId).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public TransactionPageDTO getUserTransactionsPage(String userId, String cursor, int limit) {
+        TransactionCursor after = TransactionCursor.decode(cursor);
+        int pageSize = clampPageSize(limit);
+        // Берём на одну запись больше, чтобы понять, есть ли следующая страница
+        List<Transaction> fetched = transactionRepository.findUserPage(userId,
+                after != null ? after.getTimestamp() : null,
+                after != null ? after.getId() : null,
+                pageSize + 1);
+        return toPage(fetched, pageSize);
     }
 
-    public TransactionDTO sendTransaction(String userId, SendTransactionRequest request) {
-    userRepository.findById(userId).orElseThrow(
-        () -> new RuntimeException("User not found"));
-
-        Wallet wallet = walletRepository.findById(request.getFromWalletId())
-                .orElseThrow(() -> new RuntimeException("Wallet not found"));
+    // Ленивый поток поверх курсора Mongo: вызывающий обязан закрыть Stream
+    public Stream<TransactionDTO> streamUserTransactions(String userId) {
+        return transactionRepository.streamByUser(userId).map(TransactionService::convertToDTO);
+    }
 
-        if (!wallet.getUser().getId().equals(userId)) {
-            throw new RuntimeException("Unauthorized: Wallet does not belong to user");
-        }
+    public TransactionDTO sendTransaction(String userId, SendTransactionRequest request) {
+        Money amount = requirePositive(request.getAmount());
 
-        BigDecimal amount = BigDecimal.valueOf(request.getAmount());
-        if (wallet.getBalance().compareTo(amount) < 0) {
-            throw new RuntimeException("Insufficient balance");
+        // Адрес принадлежит кошельку сервиса — списание и зачисление одной транзакцией
+        Optional<Wallet> recipient = internalTransfers.recipient(request.getToAddress());
+        if (recipient.isPresent()) {
+            return internalTransfers.transfer(userId, request.getFromWalletId(), recipient.get(), amount);
         }
 
-        if (amount.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new RuntimeException("Amount must be greater than 0");
-        }
+        // Проверка владельца, баланса и точности суммы выполняется в фильтре самого обновления — без чтения и без блокировок.
+        // «Горячий» кошелёк (журнал или полосы) этот фильтр не пропускает — его списывает HotWallets
+        Wallet wallet = walletRepository.debitIfSufficient(request.getFromWalletId(), userId, amount)
+                .or(() -> hotWallets.debit(request.getFromWalletId(), userId, amount))
+                .orElseThrow(() -> debitFailure(request.getFromWalletId(), userId, amount));
 
         Transaction transaction = Transaction.builder()
                 .id(UUID.randomUUID().toString())
-                .wallet(wallet)
+                .walletId(wallet.getId())
+                .userId(wallet.getUserId())
                 .type("send")
-                .amount(request.getAmount())
+                .amount(amount)
                 .toAddress(request.getToAddress())
                 .status("completed")
                 .timestamp(LocalDateTime.now())
                 .currency(wallet.getSymbol())
                 .build();
 
-    wallet.setBalance(wallet.getBalance().subtract(amount));
-        walletRepository.save(wallet);
+        // Версия поднимается после записи: GET между списанием и записью иначе закэшировал бы список без этой
+        // транзакции уже под новым ETag. finally — баланс изменился, даже если запись не прошла
+        portfolioSummaries.sending(userId);
+        try {
+            Transaction savedTransaction = transactionRepository.save(transaction);
+            portfolioSummaries.sent(userId, List.of(savedTransaction));
+            return convertToDTO(savedTransaction);
+        } catch (RuntimeException e) {
+            portfolioSummaries.notSent(userId);
+            throw e;
+        } finally {
+            walletVersions.bump(userId);
+        }
+    }
+
+    // Пакетная выплата: одно чтение кошелька для проверки позиций, одно атомарное списание итоговой суммы
+    // и одна bulk-вставка всех транзакций — вместо четырёх обращений к базе на каждого получателя
+    public SendBatchResultDTO sendBatch(String userId, SendBatchRequest request) {
+        List<SendBatchRequest.Item> items = SendBatchPlan.requireItems(request);
+        Wallet source = walletRepository.findByIdAndUserId(request.getFromWalletId(), userId)
+                .orElseThrow(() -> new WalletNotFoundException("Wallet not found"));
+        SendBatchPlan plan = SendBatchPlan.of(items, source.getSymbol());
+        if (plan.isEmpty()) {
+            return plan.rejectedResult();
+        }
+
+        Wallet wallet = walletRepository.debitIfSufficient(source.getId(), userId, plan.total())
+                .or(() -> hotWallets.debit(source.getId(), userId, plan.total()))
+                .orElseThrow(() -> debitFailure(source.getId(), userId, plan.total()));
+        // Как и в sendTransaction, версия поднимается один раз — после вставки и возврата непрошедших позиций
+        try {
+            List<Transaction> transactions = plan.transactions(wallet);
+            Set<Integer> failed = record(userId, transactions);
+            Money debited = plan.total();
+            if (!failed.isEmpty()) {
+                Money refund = SendBatchPlan.refund(transactions, failed);
+                hotWallets.credit(wallet, refund);
+                debited = debited.subtract(refund);
+                log.warn("Batch send: {} of {} transactions not recorded, refunded {} to wallet {}",
+                        failed.size(), transactions.size(), refund, wallet.getId());
+            }
+            return plan.result(transactions, failed, debited);
+        } finally {
+            walletVersions.bump(userId);
+        }
+    }
+
+    private Set<Integer> record(String userId, List<Transaction> transactions) {
+        portfolioSummaries.sending(userId);
+        try {
+            Set<Integer> failed = transactionRepository.bulkInsert(transactions);
+            portfolioSummaries.sent(userId, SendBatchPlan.recorded(transactions, failed));
+            return failed;
+        } catch (RuntimeException e) {
+            portfolioSummaries.notSent(userId);
+            throw e;
+        }
+    }
 
-        Transaction savedTransaction = transactionRepository.save(transaction);
-        return convertToDTO(savedTransaction);
+    // Списание не прошло — дочитываем кошелёк только на этом (редком) пути, чтобы вернуть точную причину
+    private RuntimeException debitFailure(String walletId, String userId, Money amount) {
+        Wallet wallet = walletRepository.findById(walletId).orElse(null);
+        if (wallet == null) {
+            return new WalletNotFoundException("Wallet not found");
+        }
+        return debitFailure(wallet, userId, amount);
+    }
+
+    static RuntimeException debitFailure(Wallet wallet, String userId, Money amount) {
+        if (!userId.equals(wallet.getUserId())) {
+            return new WalletAccessDeniedException("Unauthorized: Wallet does not belong to user");
+        }
+        if (!CurrencyScales.allows(wallet.getSymbol(), amount)) {
+            return tooPrecise(wallet.getSymbol());
+        }
+        return new InsufficientBalanceException("Insufficient balance");
+    }
+
+    static InvalidAmountException tooPrecise(String symbol) {
+        return new InvalidAmountException("Amount has more than " + CurrencyScales.of(symbol)
+                + " decimal places for " + symbol);
+    }
+
+    static Money requirePositive(Money amount) {
+        if (amount == null || !amount.isPositive()) {
+            throw new InvalidAmountException("Amount must be greater than 0");
+        }
+        return amount;
+    }
+
+    static int clampPageSize(int limit) {
+        if (limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    static TransactionPageDTO toPage(List<Transaction> fetched, int pageSize) {
+        boolean hasMore = fetched.size() > pageSize;
+        List<Transaction> page = hasMore ? fetched.subList(0, pageSize) : fetched;
+        String nextCursor = null;
+        if (hasMore) {
+            Transaction last = page.get(page.size() - 1);
+            nextCursor = new TransactionCursor(last.getTimestamp(), last.getId()).encode();
+        }
+        return new TransactionPageDTO(page.stream().map(TransactionService::convertToDTO).collect(Collectors.toList()), nextCursor);
     }
 
-    private TransactionDTO convertToDTO(Transaction tx) {
+    public static TransactionDTO convertToDTO(Transaction tx) {
         DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE_TIME;
         return TransactionDTO.builder()
                 .id(tx.getId())
@@ -0,0 +1,119 @@
+package com.cryptowallet.service;
+
+import com.cryptowallet.cache.ClosedStatsBuckets;
+import com.cryptowallet.dto.TransactionStatsDTO;
+import com.cryptowallet.exception.InvalidStatsRequestException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Разбор запроса статистики, общий для блокирующего и реактивного сервисов: границы выравниваются по интервалу,
+// закрытые интервалы берутся из ClosedStatsBuckets, а в Mongo уходит только хвост начиная с первого пропуска
+final class TransactionStatsPlan {
+    private static final DateTimeFormatter START = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final Comparator<String> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+    private static final Comparator<TransactionStatsDTO.Bucket> ROW_ORDER =
+            Comparator.comparing(TransactionStatsDTO.Bucket::getCurrency, NULLS_FIRST)
+                    .thenComparing(TransactionStatsDTO.Bucket::getType, NULLS_FIRST)
+                    .thenComparing(TransactionStatsDTO.Bucket::getStatus, NULLS_FIRST);
+
+    private final String userId;
+    private final StatsInterval interval;
+    private final List<LocalDateTime> starts;
+    private final LocalDateTime to;
+    // Интервал закрыт, если кончился не позже этого момента
+    private final LocalDateTime closedBefore;
+    private final Map<String, List<TransactionStatsDTO.Bucket>> cached = new HashMap<>();
+
+    private TransactionStatsPlan(String userId, StatsInterval interval, List<LocalDateTime> starts, LocalDateTime to,
+                                 LocalDateTime closedBefore) {
+        this.userId = userId;
+        this.interval = interval;
+        this.starts = starts;
+        this.to = to;
+        this.closedBefore = closedBefore;
+    }
+
+    // Без to — по текущий интервал включительно, без from — defaultCount интервалов до to
+    static TransactionStatsPlan of(String userId, String interval, String from, String to, int maxBuckets,
+                                   LocalDateTime now, LocalDateTime closedBefore) {
+        StatsInterval step = StatsInterval.parse(interval);
+        LocalDateTime end = to != null ? parseTime("to", to) : now;
+        LocalDateTime alignedTo = step.truncate(end).equals(end) ? end : step.next(step.truncate(end));
+        LocalDateTime alignedFrom = from != null
+                ? step.truncate(parseTime("from", from))
+                : step.minus(alignedTo, step.defaultCount());
+        if (!alignedFrom.isBefore(alignedTo)) {
+            throw new InvalidStatsRequestException("from must be before to");
+        }
+        List<LocalDateTime> starts = new ArrayList<>();
+        for (LocalDateTime start = alignedFrom; start.isBefore(alignedTo); start = step.next(start)) {
+            if (starts.size() == maxBuckets) {
+                throw new InvalidStatsRequestException("Range spans more than " + maxBuckets + " intervals");
+            }
+            starts.add(start);
+        }
+        return new TransactionStatsPlan(userId, step, starts, alignedTo, closedBefore);
+    }
+
+    // Дата (2026-01-31) или дата со временем (2026-01-31T12:00:00) во времени сервера
+    private static LocalDateTime parseTime(String name, String value) {
+        try {
+            return value.length() == 10 ? LocalDate.parse(value).atStartOfDay() : LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidStatsRequestException("Invalid " + name + ": " + value);
+        }
+    }
+
+    // Начало первого интервала, которого нет в кэше или который ещё открыт; null — ответ целиком из кэша
+    LocalDateTime queryFrom(ClosedStatsBuckets closedBuckets) {
+        for (LocalDateTime start : starts) {
+            String key = START.format(start);
+            List<TransactionStatsDTO.Bucket> rows = isClosed(start) ? closedBuckets.get(userId, interval.label(), key) : null;
+            if (rows == null) {
+                return start;
+            }
+            cached.put(key, rows);
+        }
+        return null;
+    }
+
+    LocalDateTime to() {
+        return to;
+    }
+
+    String bucketFormat() {
+        return interval.bucketFormat();
+    }
+
+    // fetched — результат агрегации с queryFrom; закрытые интервалы из него (и пустые тоже) попадают в кэш
+    TransactionStatsDTO result(List<TransactionStatsDTO.Bucket> fetched, ClosedStatsBuckets closedBuckets) {
+        Map<String, List<TransactionStatsDTO.Bucket>> byStart = fetched.stream()
+                .collect(Collectors.groupingBy(TransactionStatsDTO.Bucket::getStart));
+        List<TransactionStatsDTO.Bucket> buckets = new ArrayList<>(fetched.size());
+        for (LocalDateTime start : starts) {
+            String key = START.format(start);
+            List<TransactionStatsDTO.Bucket> rows = cached.get(key);
+            if (rows == null) {
+                rows = byStart.getOrDefault(key, List.of()).stream().sorted(ROW_ORDER).toList();
+                if (isClosed(start)) {
+                    closedBuckets.put(userId, interval.label(), key, rows);
+                }
+            }
+            buckets.addAll(rows);
+        }
+        return new TransactionStatsDTO(interval.label(), START.format(starts.get(0)), START.format(to), buckets);
+    }
+
+    private boolean isClosed(LocalDateTime start) {
+        return !interval.next(start).isAfter(closedBefore);
+    }
+}
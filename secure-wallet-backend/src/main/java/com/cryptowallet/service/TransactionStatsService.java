@@ -0,0 +1,43 @@
+package com.cryptowallet.service;
+
+import com.cryptowallet.cache.ClosedStatsBuckets;
+import com.cryptowallet.dto.TransactionStatsDTO;
+import com.cryptowallet.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// GET /api/transactions/stats: суммы и количество по интервалам считает агрегация в Mongo, документы транзакций
+// в приложение не загружаются. Закрытые интервалы кэшируются — повторный запрос за годы истории пересчитывает
+// только текущий интервал
+@Service
+public class TransactionStatsService {
+    private final TransactionRepository transactionRepository;
+    private final ClosedStatsBuckets closedBuckets;
+    private final int maxBuckets;
+    private final Duration closedAfter;
+
+    public TransactionStatsService(TransactionRepository transactionRepository,
+                                   ClosedStatsBuckets closedBuckets,
+                                   @Value("${transactions.stats.max-buckets:1000}") int maxBuckets,
+                                   @Value("${transactions.stats.closed-after:1m}") Duration closedAfter) {
+        this.transactionRepository = transactionRepository;
+        this.closedBuckets = closedBuckets;
+        this.maxBuckets = maxBuckets;
+        this.closedAfter = closedAfter;
+    }
+
+    public TransactionStatsDTO getStats(String userId, String interval, String from, String to) {
+        LocalDateTime now = LocalDateTime.now();
+        TransactionStatsPlan plan = TransactionStatsPlan.of(userId, interval, from, to, maxBuckets, now,
+                now.minus(closedAfter));
+        LocalDateTime queryFrom = plan.queryFrom(closedBuckets);
+        List<TransactionStatsDTO.Bucket> fetched = queryFrom != null
+                ? transactionRepository.aggregateStats(userId, queryFrom, plan.to(), plan.bucketFormat())
+                : List.of();
+        return plan.result(fetched, closedBuckets);
+    }
+}
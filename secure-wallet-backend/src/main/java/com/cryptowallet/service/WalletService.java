@@ -1,119 +1,156 @@
 package com.cryptowallet.service;
 
+import com.cryptowallet.cache.WalletSnapshots;
+import com.cryptowallet.cache.WalletVersions;
 import com.cryptowallet.dto.*;
 import com.cryptowallet.entity.Wallet;
 import com.cryptowallet.entity.User;
 import com.cryptowallet.entity.Transaction;
+import com.cryptowallet.exception.WalletNotFoundException;
+import com.cryptowallet.ledger.HotWallets;
+import com.cryptowallet.money.Money;
 import com.cryptowallet.repository.WalletRepository;
-import com.cryptowallet.repository.UserRepository;
+import com.cryptowallet.repository.WalletView;
 import com.cryptowallet.repository.TransactionRepository;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.security.SecureRandom; // Импортируем SecureRandom
 import java.util.HexFormat; // Импортируем HexFormat для Java 17+
-import java.math.BigDecimal;
 
 @Service
 public class WalletService {
     private final WalletRepository walletRepository;
-    private final UserRepository userRepository;
     private final TransactionRepository transactionRepository;
+    private final HotWallets hotWallets;
+    private final WalletSnapshots snapshots;
+    private final WalletVersions walletVersions;
 
     public WalletService(WalletRepository walletRepository,
-                         UserRepository userRepository,
-                         TransactionRepository transactionRepository) {
+                         TransactionRepository transactionRepository,
+                         HotWallets hotWallets,
+                         WalletSnapshots snapshots,
+                         WalletVersions walletVersions) {
         this.walletRepository = walletRepository;
-        this.userRepository = userRepository;
         this.transactionRepository = transactionRepository;
+        this.hotWallets = hotWallets;
+        this.snapshots = snapshots;
+        this.walletVersions = walletVersions;
     }
 
+    // USDT и ETH кошельки вставляются одной пакетной операцией
     public void createDefaultWallets(User user) {
-        // Создание USDT кошелька
-        createWalletInternal(user, "My USDT", "USDT", "USDT", BigDecimal.ZERO);
+        walletRepository.insert(List.of(
+                buildWallet(user.getId(), "My USDT", "USDT", "USDT", Money.ZERO),
+                buildWallet(user.getId(), "My Ethereum", "Ethereum", "ETH", Money.ZERO)));
+        walletVersions.bump(user.getId());
+    }
 
-        // Создание ETH кошелька
-        createWalletInternal(user, "My Ethereum", "Ethereum", "ETH", BigDecimal.ZERO);
+    // Снимок списка из WalletSnapshots; при промахе — загрузка ниже. version — версия из ETag ответа
+    public List<WalletDTO> getUserWallets(String userId, long version) {
+        return snapshots.get(userId, version, () -> loadUserWallets(userId));
     }
 
-    public List<WalletDTO> getUserWallets(String userId) {
-        User user = userRepository.findById(userId).orElseThrow();
-        return walletRepository.findByUser(user).stream()
-                .map(this::convertToDTO)
+    // userId берётся из уже аутентифицированного запроса, поэтому пользователя не перечитываем:
+    // список — один запрос по индексу userId с проекцией нужных полей
+    private List<WalletDTO> loadUserWallets(String userId) {
+        List<WalletView> wallets = walletRepository.findByUserId(userId);
+        // Точный баланс кошельков с журналом или полосами — отдельным чтением, только если такие кошельки есть
+        Map<String, Money> balances = hotWallets.exactBalances(wallets);
+        return wallets.stream()
+                .map(wallet -> convertToDTO(wallet, balances))
                 .collect(Collectors.toList());
     }
 
-    public WalletDTO getWallet(String walletId, String userId) {
-        User user = userRepository.findById(userId).orElseThrow();
-        Wallet wallet = walletRepository.findByIdAndUser(walletId, user)
-                .orElseThrow(() -> new RuntimeException("Wallet not found"));
-        return convertToDTO(wallet);
+    // Кошелёк берётся из того же снимка списка: отдельного запроса к Mongo на каждый просмотр кошелька нет
+    public WalletDTO getWallet(String walletId, String userId, long version) {
+        return findWallet(getUserWallets(userId, version), walletId)
+                .orElseThrow(() -> new WalletNotFoundException("Wallet not found"));
+    }
+
+    static Optional<WalletDTO> findWallet(List<WalletDTO> wallets, String walletId) {
+        return wallets.stream().filter(wallet -> wallet.getId().equals(walletId)).findFirst();
     }
 
     public WalletDTO createWallet(String userId, CreateWalletRequest request) {
-        User user = userRepository.findById(userId).orElseThrow();
-        Wallet wallet = createWalletInternal(user, request.getName(),
-                request.getCurrency(), request.getCurrency(), BigDecimal.ZERO);
+        Wallet wallet = createWalletInternal(userId, request.getName(),
+                request.getCurrency(), request.getCurrency(), Money.ZERO);
         return convertToDTO(wallet);
     }
 
-    private Wallet createWalletInternal(User user, String name, String currency, String symbol, BigDecimal balance) {
-        Wallet wallet = Wallet.builder()
+    private Wallet createWalletInternal(String userId, String name, String currency, String symbol, Money balance) {
+        Wallet wallet = walletRepository.save(buildWallet(userId, name, currency, symbol, balance));
+        walletVersions.bump(userId);
+        return wallet;
+    }
+
+    static Wallet buildWallet(String userId, String name, String currency, String symbol, Money balance) {
+        return Wallet.builder()
                 .id(UUID.randomUUID().toString())
                 .name(name)
                 .currency(currency)
                 .symbol(symbol)
                 .balance(balance)
                 .address(generateWalletAddress())
-                .user(user)
-                .userId(user.getId())
+                .userId(userId)
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
                 .build();
-        return walletRepository.save(wallet);
     }
 
-    public List<TransactionDTO> getWalletTransactions(String walletId, String userId) {
-        User user = userRepository.findById(userId).orElseThrow();
-        Wallet wallet = walletRepository.findByIdAndUser(walletId, user)
-                .orElseThrow(() -> new RuntimeException("Wallet not found"));
+    public TransactionPageDTO getWalletTransactionsPage(String walletId, String userId, String cursor, int limit) {
+        requireOwnedWallet(walletId, userId);
+        TransactionCursor after = TransactionCursor.decode(cursor);
+        int pageSize = TransactionService.clampPageSize(limit);
+        // Берём на одну запись больше, чтобы понять, есть ли следующая страница
+        List<Transaction> fetched = transactionRepository.findWalletPage(walletId,
+                after != null ? after.getTimestamp() : null,
+                after != null ? after.getId() : null,
+                pageSize + 1);
+        return TransactionService.toPage(fetched, pageSize);
+    }
 
-        return transactionRepository.findByWallet(wallet).stream()
-                .map(this::convertTransactionToDTO)
-                .collect(Collectors.toList());
+    // Владение проверяется сразу, а курсор Mongo читается лениво: вызывающий обязан закрыть Stream
+    public Stream<TransactionDTO> streamWalletTransactions(String walletId, String userId) {
+        requireOwnedWallet(walletId, userId);
+        return transactionRepository.streamByWallet(walletId).map(TransactionService::convertToDTO);
+    }
+
+    private void requireOwnedWallet(String walletId, String userId) {
+        if (!walletRepository.existsByIdAndUserId(walletId, userId)) {
+            throw new WalletNotFoundException("Wallet not found");
+        }
     }
 
     // Исправленный метод для генерации адреса кошелька
-    private String generateWalletAddress() {
+    private static String generateWalletAddress() {
         SecureRandom random = new SecureRandom();
         byte[] bytes = new byte[20]; // 20 байт = 40 шестнадцатеричных символов
         random.nextBytes(bytes);
         return "0x" + HexFormat.of().formatHex(bytes); // Преобразуем байты в шестнадцатеричную строку
     }
 
-    private WalletDTO convertToDTO(Wallet wallet) {
-        return WalletDTO.builder()
-                .id(wallet.getId())
-                .name(wallet.getName())
-                .currency(wallet.getCurrency())
-                .symbol(wallet.getSymbol())
-                .balance(wallet.getBalance() != null ? wallet.getBalance().doubleValue() : 0.0)
-                .address(wallet.getAddress())
-                .build();
+    public static WalletDTO convertToDTO(Wallet wallet) {
+        return convertToDTO(wallet.getId(), wallet.getName(), wallet.getCurrency(),
+                wallet.getSymbol(), wallet.getBalance(), wallet.getAddress());
+    }
+
+    // balances — точные балансы «горячих» кошельков (журнал, полосы); у остальных берётся balance из проекции
+    static WalletDTO convertToDTO(WalletView wallet, Map<String, Money> balances) {
+        return convertToDTO(wallet.getId(), wallet.getName(), wallet.getCurrency(),
+                wallet.getSymbol(), balances.getOrDefault(wallet.getId(), wallet.getBalance()), wallet.getAddress());
     }
 
-    private TransactionDTO convertTransactionToDTO(Transaction tx) {
-        DateTimeFormatter formatter = DateTimeFormatter.ISO_DATE_TIME;
-        return TransactionDTO.builder()
-                .id(tx.getId())
-                .type(tx.getType())
-                .amount(tx.getAmount())
-                .address(tx.getToAddress())
-                .status(tx.getStatus())
-                .timestamp(tx.getTimestamp().format(formatter))
-                .currency(tx.getCurrency())
+    private static WalletDTO convertToDTO(String id, String name, String currency, String symbol, Money balance, String address) {
+        return WalletDTO.builder()
+                .id(id)
+                .name(name)
+                .currency(currency)
+                .symbol(symbol)
+                .balance(balance != null ? balance : Money.ZERO)
+                .address(address)
                 .build();
     }
 }
@@ -0,0 +1,254 @@
+package com.cryptowallet.summary;
+
+import com.cryptowallet.dto.PortfolioSummaryDTO;
+import com.cryptowallet.dto.WalletDTO;
+import com.cryptowallet.entity.PortfolioSummary;
+import com.cryptowallet.entity.Transaction;
+import com.cryptowallet.money.Money;
+import com.cryptowallet.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Документ в коллекции portfolio_summaries меняется приращениями (upsert) вокруг каждой записи отправок:
+// sending до записи поднимает pending, sent или notSent после неё опускает. Приращение без документа создаёт
+// неполный (partial); такой документ, как и отсутствующий, при чтении собирается из отправок за 7 дней.
+// Сбой приращения не валит запрос, а помечает сводку неполной — до пересборки
+@Service
+public class MongoPortfolioSummaries implements PortfolioSummaries {
+    private static final Logger log = LoggerFactory.getLogger(MongoPortfolioSummaries.class);
+    private static final DateTimeFormatter HOUR = DateTimeFormatter.ofPattern("yyyyMMddHH");
+    static final int WINDOW_HOURS = 7 * 24;
+    static final int REBUILD_ATTEMPTS = 3;
+
+    private final MongoTemplate mongoTemplate;
+    private final TransactionRepository transactionRepository;
+
+    public MongoPortfolioSummaries(MongoTemplate mongoTemplate, TransactionRepository transactionRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.transactionRepository = transactionRepository;
+    }
+
+    @Override
+    public PortfolioSummaryDTO get(String userId, List<WalletDTO> wallets) {
+        PortfolioSummary summary = mongoTemplate.findById(userId, PortfolioSummary.class);
+        if (summary == null || summary.isPartial()) {
+            summary = rebuild(userId, summary);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Update prune = prune(summary, now);
+        if (prune != null) {
+            try {
+                mongoTemplate.updateFirst(byUser(userId), prune, PortfolioSummary.class);
+            } catch (RuntimeException e) {
+                log.warn("Portfolio summary of user {} not pruned: {}", userId, e.getMessage());
+            }
+        }
+        return toDTO(summary, wallets, now);
+    }
+
+    @Override
+    public void sending(String userId) {
+        apply(userId, sending());
+    }
+
+    @Override
+    public void sent(String userId, List<Transaction> recorded) {
+        apply(userId, sent(recorded));
+    }
+
+    @Override
+    public void notSent(String userId) {
+        apply(userId, notSent());
+    }
+
+    @Override
+    public void received(String userId, Transaction receive) {
+        apply(userId, received(receive));
+    }
+
+    private void apply(String userId, Update update) {
+        try {
+            mongoTemplate.upsert(byUser(userId), update, PortfolioSummary.class);
+        } catch (RuntimeException e) {
+            log.warn("Portfolio summary of user {} not updated: {}", userId, e.getMessage());
+            try {
+                mongoTemplate.updateFirst(byUser(userId), markPartial(), PortfolioSummary.class);
+            } catch (RuntimeException markError) {
+                log.warn("Portfolio summary of user {} not marked for rebuild: {}", userId, markError.getMessage());
+            }
+        }
+    }
+
+    // observed — документ, прочитанный до сборки (null или неполный). Запись отправок, которую видит сборка, либо
+    // закончилась до observed (её приращение заменяется собранным), либо ещё шла: тогда в observed pending > 0
+    // или к замене сдвинулся changes, и замена не проходит. Запись, начатая после замены, ложится на собранное
+    // приращениями — так отправка не теряется и не учитывается дважды
+    private PortfolioSummary rebuild(String userId, PortfolioSummary observed) {
+        PortfolioSummary summary = null;
+        for (int attempt = 0; attempt < REBUILD_ATTEMPTS; attempt++) {
+            if (observed != null && !observed.isPartial()) {
+                return observed;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            List<Transaction> sends = mongoTemplate.find(recentSends(userId, now), Transaction.class);
+            Transaction latest = transactionRepository.findUserPage(userId, null, null, 1).stream().findFirst().orElse(null);
+            summary = build(userId, sends, latest);
+            if (storable(observed) && store(summary, observed)) {
+                return summary;
+            }
+            observed = mongoTemplate.findById(userId, PortfolioSummary.class);
+        }
+        // Записи идут без перерыва: отдаём собранное, документ соберёт следующее чтение
+        return summary;
+    }
+
+    private boolean store(PortfolioSummary summary, PortfolioSummary observed) {
+        if (observed == null) {
+            try {
+                mongoTemplate.insert(summary);
+                return true;
+            } catch (DuplicateKeyException e) {
+                return false;
+            }
+        }
+        return mongoTemplate.findAndReplace(unchanged(observed), summary) != null;
+    }
+
+    static boolean storable(PortfolioSummary observed) {
+        return observed == null || observed.getPending() == 0;
+    }
+
+    static Query byUser(String userId) {
+        return Query.query(Criteria.where("_id").is(userId));
+    }
+
+    static Query unchanged(PortfolioSummary observed) {
+        return Query.query(Criteria.where("_id").is(observed.getUserId())
+                .and("partial").is(true)
+                .and("changes").is(observed.getChanges()));
+    }
+
+    static Update markPartial() {
+        return new Update().set("partial", true);
+    }
+
+    // По индексу userId_timestamp_id; из документов нужны только поля для часовых сумм
+    static Query recentSends(String userId, LocalDateTime now) {
+        Query query = Query.query(Criteria.where("userId").is(userId)
+                .and("timestamp").gte(now.minusHours(WINDOW_HOURS))
+                .and("type").is("send"));
+        query.fields().include("timestamp", "amount", "currency");
+        return query;
+    }
+
+    static Update sending() {
+        return change().inc("pending", 1);
+    }
+
+    // Час и время операции берутся из самих транзакций — как при сборке
+    static Update sent(List<Transaction> recorded) {
+        Update update = change().inc("pending", -1);
+        Map<String, Money> amounts = new HashMap<>();
+        LocalDateTime latest = null;
+        for (Transaction send : recorded) {
+            amounts.merge("sent." + hour(send.getTimestamp()) + "." + key(send.getCurrency()), send.getAmount(), Money::add);
+            latest = latest == null || send.getTimestamp().isAfter(latest) ? send.getTimestamp() : latest;
+        }
+        amounts.forEach((path, amount) -> update.inc(path, amount.toDecimal128()));
+        return latest != null ? update.max("lastActivity", latest) : update;
+    }
+
+    static Update notSent() {
+        return change().inc("pending", -1).set("partial", true);
+    }
+
+    static Update received(Transaction receive) {
+        return change().max("lastActivity", receive.getTimestamp());
+    }
+
+    private static Update change() {
+        return new Update()
+                .inc("changes", 1)
+                .setOnInsert("partial", true);
+    }
+
+    // Часы старше окна убираются при чтении; null — убирать нечего
+    static Update prune(PortfolioSummary summary, LocalDateTime now) {
+        if (summary.getSent() == null) {
+            return null;
+        }
+        String from = hour(now.minusHours(WINDOW_HOURS - 1));
+        Update update = null;
+        for (String hour : List.copyOf(summary.getSent().keySet())) {
+            if (hour.compareTo(from) < 0) {
+                update = update != null ? update : new Update();
+                update.unset("sent." + hour);
+                summary.getSent().remove(hour);
+            }
+        }
+        return update;
+    }
+
+    static PortfolioSummary build(String userId, List<Transaction> sends, Transaction latest) {
+        Map<String, Map<String, Money>> sent = new HashMap<>();
+        for (Transaction send : sends) {
+            sent.computeIfAbsent(hour(send.getTimestamp()), h -> new HashMap<>())
+                    .merge(key(send.getCurrency()), send.getAmount(), Money::add);
+        }
+        return new PortfolioSummary(userId, latest != null ? latest.getTimestamp() : null, sent);
+    }
+
+    // 24 часа — текущий час и 23 предыдущих, 7 дней — все часы окна
+    static PortfolioSummaryDTO toDTO(PortfolioSummary summary, List<WalletDTO> wallets, LocalDateTime now) {
+        String from24h = hour(now.minusHours(23));
+        String from7d = hour(now.minusHours(WINDOW_HOURS - 1));
+        Map<String, Money> sent24h = new TreeMap<>();
+        Map<String, Money> sent7d = new TreeMap<>();
+        if (summary.getSent() != null) {
+            summary.getSent().forEach((hour, amounts) -> {
+                if (hour.compareTo(from7d) >= 0) {
+                    amounts.forEach((key, amount) -> sent7d.merge(symbol(key), amount, Money::add));
+                }
+                if (hour.compareTo(from24h) >= 0) {
+                    amounts.forEach((key, amount) -> sent24h.merge(symbol(key), amount, Money::add));
+                }
+            });
+        }
+        Map<String, Money> totals = new TreeMap<>();
+        for (WalletDTO wallet : wallets) {
+            totals.merge(wallet.getSymbol(), wallet.getBalance(), Money::add);
+        }
+        return new PortfolioSummaryDTO(totals, wallets.size(),
+                summary.getLastActivity() != null ? summary.getLastActivity().format(DateTimeFormatter.ISO_DATE_TIME) : null,
+                sent24h, sent7d);
+    }
+
+    static String hour(LocalDateTime time) {
+        return HOUR.format(time);
+    }
+
+    // Символ валюты при создании кошелька — произвольная строка, а в пути поля Mongo нельзя '.' и ведущий '$':
+    // заменяем их полноширинными аналогами
+    static String key(String symbol) {
+        String key = String.valueOf(symbol).replace('.', '\uFF0E');
+        return key.startsWith("$") ? '\uFF04' + key.substring(1) : key;
+    }
+
+    static String symbol(String key) {
+        String symbol = key.replace('\uFF0E', '.');
+        return symbol.startsWith("\uFF04") ? '$' + symbol.substring(1) : symbol;
+    }
+}
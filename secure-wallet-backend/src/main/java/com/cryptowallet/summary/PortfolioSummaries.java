@@ -0,0 +1,33 @@
+package com.cryptowallet.summary;
+
+import com.cryptowallet.dto.PortfolioSummaryDTO;
+import com.cryptowallet.dto.WalletDTO;
+import com.cryptowallet.entity.Transaction;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Сводка портфеля для главного экрана. Суммы по валютам и число кошельков считаются по списку кошельков
+// (тот же снимок, что у GET /api/wallets), отправки и последняя операция — один документ PortfolioSummary по _id
+// вместо истории. Сервисы сообщают сюда о каждой записи отправок и зачислений
+public interface PortfolioSummaries {
+
+    // wallets — кошельки пользователя с точными балансами
+    PortfolioSummaryDTO get(String userId, List<WalletDTO> wallets);
+
+    // Перед записью отправок; после неё — ровно один вызов sent или notSent
+    void sending(String userId);
+
+    // recorded — записанные транзакции send (пустой список, если не записалось ничего)
+    void sent(String userId, List<Transaction> recorded);
+
+    // Запись не прошла или её исход неизвестен: документ соберётся заново при чтении
+    void notSent(String userId);
+
+    void received(String userId, Transaction receive);
+
+    // Окна 24 часа и 7 дней сдвигаются каждый час и без записей: к ETag версии кошельков добавляется текущий час
+    static String etag(String walletsEtag) {
+        return walletsEtag.substring(0, walletsEtag.length() - 1) + "." + MongoPortfolioSummaries.hour(LocalDateTime.now()) + "\"";
+    }
+}
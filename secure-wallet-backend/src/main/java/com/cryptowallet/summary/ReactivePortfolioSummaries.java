@@ -0,0 +1,133 @@
+package com.cryptowallet.summary;
+
+import com.cryptowallet.dto.PortfolioSummaryDTO;
+import com.cryptowallet.dto.WalletDTO;
+import com.cryptowallet.entity.PortfolioSummary;
+import com.cryptowallet.entity.Transaction;
+import com.cryptowallet.repository.ReactiveTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+// Реактивный вариант MongoPortfolioSummaries
+@Service
+@Profile("reactive")
+public class ReactivePortfolioSummaries {
+    private static final Logger log = LoggerFactory.getLogger(ReactivePortfolioSummaries.class);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final ReactiveTransactionRepository transactionRepository;
+
+    public ReactivePortfolioSummaries(ReactiveMongoTemplate mongoTemplate,
+                                      ReactiveTransactionRepository transactionRepository) {
+        this.mongoTemplate = mongoTemplate;
+        this.transactionRepository = transactionRepository;
+    }
+
+    public Mono<PortfolioSummaryDTO> get(String userId, List<WalletDTO> wallets) {
+        return read(userId, MongoPortfolioSummaries.REBUILD_ATTEMPTS)
+                .flatMap(summary -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    Update prune = MongoPortfolioSummaries.prune(summary, now);
+                    return (prune != null ? prune(userId, prune) : Mono.<Void>empty())
+                            .thenReturn(MongoPortfolioSummaries.toDTO(summary, wallets, now));
+                });
+    }
+
+    // Запись отправок между sending и sent; при ошибке или отмене до sent — notSent.
+    // recorded — записанные транзакции send по результату записи
+    public <T> Mono<T> recording(String userId, Mono<T> write, Function<T, List<Transaction>> recorded) {
+        return Mono.usingWhen(apply(userId, MongoPortfolioSummaries.sending()).thenReturn(new AtomicBoolean()),
+                reported -> write.flatMap(value -> Mono.defer(() -> {
+                    reported.set(true);
+                    return apply(userId, MongoPortfolioSummaries.sent(recorded.apply(value)));
+                }).thenReturn(value)),
+                reported -> Mono.empty(),
+                (reported, error) -> notSent(userId, reported),
+                reported -> notSent(userId, reported));
+    }
+
+    public Mono<Void> received(String userId, Transaction receive) {
+        return Mono.defer(() -> apply(userId, MongoPortfolioSummaries.received(receive)));
+    }
+
+    private Mono<Void> notSent(String userId, AtomicBoolean reported) {
+        return reported.get() ? Mono.empty() : apply(userId, MongoPortfolioSummaries.notSent());
+    }
+
+    private Mono<Void> apply(String userId, Update update) {
+        return mongoTemplate.upsert(MongoPortfolioSummaries.byUser(userId), update, PortfolioSummary.class)
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Portfolio summary of user {} not updated: {}", userId, e.getMessage());
+                    return mongoTemplate.updateFirst(MongoPortfolioSummaries.byUser(userId),
+                                    MongoPortfolioSummaries.markPartial(), PortfolioSummary.class)
+                            .doOnError(markError -> log.warn("Portfolio summary of user {} not marked for rebuild: {}",
+                                    userId, markError.getMessage()))
+                            .onErrorResume(markError -> Mono.empty())
+                            .then();
+                });
+    }
+
+    private Mono<Void> prune(String userId, Update prune) {
+        return mongoTemplate.updateFirst(MongoPortfolioSummaries.byUser(userId), prune, PortfolioSummary.class)
+                .doOnError(e -> log.warn("Portfolio summary of user {} not pruned: {}", userId, e.getMessage()))
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    // Полный документ как есть; отсутствующий или неполный собирается заново
+    private Mono<PortfolioSummary> read(String userId, int attempts) {
+        return mongoTemplate.findById(userId, PortfolioSummary.class)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(found -> found.filter(summary -> !summary.isPartial())
+                        .map(Mono::just)
+                        .orElseGet(() -> rebuild(userId, found.orElse(null), attempts)));
+    }
+
+    // Тот же порядок, что в MongoPortfolioSummaries.rebuild: observed прочитан до сборки, замена — только без
+    // записей отправок в ходе сборки, иначе сборка повторяется
+    private Mono<PortfolioSummary> rebuild(String userId, PortfolioSummary observed, int attempts) {
+        return build(userId).flatMap(summary -> store(summary, observed).flatMap(stored -> {
+            if (stored || attempts <= 1) {
+                // Записи идут без перерыва: отдаём собранное, документ соберёт следующее чтение
+                return Mono.just(summary);
+            }
+            return read(userId, attempts - 1);
+        }));
+    }
+
+    private Mono<PortfolioSummary> build(String userId) {
+        LocalDateTime now = LocalDateTime.now();
+        return Mono.zip(
+                        mongoTemplate.find(MongoPortfolioSummaries.recentSends(userId, now), Transaction.class).collectList(),
+                        transactionRepository.findUserPage(userId, null, null, 1).next()
+                                .map(Optional::of).defaultIfEmpty(Optional.empty()))
+                .map(parts -> MongoPortfolioSummaries.build(userId, parts.getT1(), parts.getT2().orElse(null)));
+    }
+
+    private Mono<Boolean> store(PortfolioSummary summary, PortfolioSummary observed) {
+        if (!MongoPortfolioSummaries.storable(observed)) {
+            return Mono.just(false);
+        }
+        if (observed == null) {
+            return mongoTemplate.insert(summary)
+                    .thenReturn(true)
+                    .onErrorResume(DuplicateKeyException.class, e -> Mono.just(false));
+        }
+        return mongoTemplate.findAndReplace(MongoPortfolioSummaries.unchanged(observed), summary)
+                .hasElement();
+    }
+}
@@ -0,0 +1,56 @@
+package com.cryptowallet.cache;
+
+import com.cryptowallet.dto.WalletDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WalletSnapshotsTest {
+
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    private final WalletSnapshots snapshots = new WalletSnapshots(
+            Optional.of(new LocalWalletSnapshotStore(100, TTL)), new SimpleMeterRegistry(), TTL);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void servesSnapshotForSameOrOlderVersion() {
+        List<WalletDTO> first = snapshots.get("u1", 3, this::load);
+
+        assertThat(snapshots.get("u1", 3, this::load)).isSameAs(first);
+        assertThat(snapshots.get("u1", 2, this::load)).isSameAs(first);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void reloadsWhenRequestVersionIsNewer() {
+        // Версию подняли на другом экземпляре: локальный снимок не сброшен, но и не отдаётся
+        snapshots.get("u1", 3, this::load);
+
+        snapshots.get("u1", 4, this::load);
+        snapshots.get("u1", 4, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidateDropsSnapshot() {
+        snapshots.get("u1", 3, this::load);
+        snapshots.invalidate("u1");
+
+        snapshots.get("u1", 3, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    private List<WalletDTO> load() {
+        loads.incrementAndGet();
+        return List.of(new WalletDTO());
+    }
+}
@@ -0,0 +1,107 @@
+package com.cryptowallet.money;
+
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void parseNormalizesTrailingZeros() {
+        Money amount = Money.parse("12.500");
+
+        assertThat(amount.units()).isEqualTo(125);
+        assertThat(amount.scale()).isEqualTo(1);
+        assertThat(amount).isEqualTo(Money.ofMinor(12_500_000, 6));
+        assertThat(amount.toString()).isEqualTo("12.5");
+    }
+
+    @Test
+    void parseAcceptsSignsAndExponent() {
+        assertThat(Money.parse("+0.00000001")).isEqualTo(Money.ofMinor(1, 8));
+        assertThat(Money.parse("1.5E-3")).isEqualTo(Money.ofMinor(15, 4));
+        assertThat(Money.parse("2E+2")).isEqualTo(Money.ofMinor(200, 0));
+    }
+
+    @Test
+    void parseRejectsMalformedAmounts() {
+        assertThatThrownBy(() -> Money.parse("")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> Money.parse("-")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> Money.parse("1.2.3")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> Money.parse("12a")).isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    void parseOverflowIsAnErrorNotRounding() {
+        assertThatThrownBy(() -> Money.parse("99999999999999999999")).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.parse("0.0000000000000000001")).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void textRoundTrip() {
+        for (String text : new String[]{"0", "1", "0.1", "-0.5", "123456.000001", "-42", "0.000000000000000001"}) {
+            assertThat(Money.parse(text).toString()).isEqualTo(text);
+        }
+    }
+
+    @Test
+    void decimal128RoundTrip() {
+        for (String text : new String[]{"0", "0.00000001", "-12.5", "999999999999999999", "-0.000000000000000001"}) {
+            Money amount = Money.parse(text);
+            Decimal128 encoded = amount.toDecimal128();
+
+            assertThat(encoded.bigDecimalValue()).isEqualByComparingTo(new BigDecimal(text));
+            assertThat(Money.fromDecimal128(encoded)).isEqualTo(amount);
+        }
+    }
+
+    @Test
+    void fromDecimal128WithPositiveExponent() {
+        assertThat(Money.fromDecimal128(Decimal128.parse("1E+3"))).isEqualTo(Money.ofMinor(1000, 0));
+        assertThat(Money.fromDecimal128(Decimal128.parse("-25E+2"))).isEqualTo(Money.ofMinor(-2500, 0));
+    }
+
+    @Test
+    void fromDecimal128OutOfRange() {
+        assertThatThrownBy(() -> Money.fromDecimal128(Decimal128.parse("1E+20"))).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void zeroWithScaleIsZero() {
+        assertThat(Money.fromDecimal128(Decimal128.parse("0E-10"))).isSameAs(Money.ZERO);
+        assertThat(Money.parse("0.0000000000")).isSameAs(Money.ZERO);
+        assertThat(Money.parse("-0")).isSameAs(Money.ZERO);
+    }
+
+    @Test
+    void negativeArithmetic() {
+        Money amount = Money.parse("-1.25");
+
+        assertThat(amount.signum()).isNegative();
+        assertThat(amount.isPositive()).isFalse();
+        assertThat(amount.negate()).isEqualTo(Money.parse("1.25"));
+        assertThat(amount.add(Money.parse("1.25"))).isSameAs(Money.ZERO);
+        assertThat(Money.parse("0.5").subtract(Money.parse("0.75"))).isEqualTo(Money.parse("-0.25"));
+    }
+
+    @Test
+    void compareAcrossScales() {
+        assertThat(Money.parse("1.5").compareTo(Money.parse("1.50000001"))).isNegative();
+        assertThat(Money.parse("2").compareTo(Money.parse("1.99999999"))).isPositive();
+        assertThat(Money.parse("-0.1").compareTo(Money.parse("0.00000001"))).isNegative();
+        assertThat(Money.ofMinor(150, 2).compareTo(Money.parse("1.5"))).isZero();
+        // Приведение к общему scale переполняет long — сравнение уходит в BigDecimal
+        assertThat(Money.parse("999999999999999999").compareTo(Money.parse("0.000000000000000001"))).isPositive();
+        assertThat(Money.parse("-999999999999999999").compareTo(Money.parse("-0.000000000000000001"))).isNegative();
+    }
+
+    @Test
+    void toMinorRejectsExtraDecimals() {
+        assertThat(Money.parse("0.1").toMinor(8)).isEqualTo(10_000_000);
+        assertThatThrownBy(() -> Money.parse("0.000000001").toMinor(8)).isInstanceOf(ArithmeticException.class);
+    }
+}
@@ -0,0 +1,50 @@
+package com.cryptowallet.repository;
+
+import com.cryptowallet.dto.TransactionStatsDTO;
+import com.cryptowallet.money.Money;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionQueriesTest {
+
+    @Test
+    void statsConvertsAmountToDecimalBeforeSum() {
+        TypedAggregation<?> stats = TransactionQueries.stats("u1", LocalDateTime.of(2026, 1, 1, 0, 0),
+                LocalDateTime.of(2026, 1, 2, 0, 0), "%Y-%m-%d");
+
+        List<Document> pipeline = stats.toPipeline(Aggregation.DEFAULT_CONTEXT);
+        Document project = pipeline.get(1).get("$project", Document.class);
+
+        assertThat(project.get("amount")).isEqualTo(new Document("$toDecimal", "$amount"));
+    }
+
+    @Test
+    void statsBucketReadsDecimalSum() {
+        TransactionStatsDTO.Bucket bucket = TransactionQueries.statsBucket(group(Decimal128.parse("1.25")));
+
+        assertThat(bucket.getSum()).isEqualTo(Money.parse("1.25"));
+        assertThat(bucket.getCount()).isEqualTo(2);
+    }
+
+    @Test
+    void legacyDoubleSumIsNotZero() {
+        assertThat(TransactionQueries.statsBucket(group(0.3)).getSum()).isEqualTo(Money.parse("0.3"));
+        assertThat(TransactionQueries.statsBucket(group(5)).getSum()).isEqualTo(Money.parse("5"));
+        assertThat(TransactionQueries.statsBucket(group(0)).getSum()).isSameAs(Money.ZERO);
+    }
+
+    private static Document group(Object sum) {
+        return new Document("_id", new Document("bucket", "2026-01-01").append("currency", "BTC")
+                .append("type", "send").append("status", "completed"))
+                .append("count", 2)
+                .append("sum", sum);
+    }
+}
@@ -0,0 +1,65 @@
+package com.cryptowallet.repository;
+
+import com.cryptowallet.money.Money;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WalletQueriesTest {
+
+    @Test
+    void debitableMatchesOwnedWalletWithEnoughBalance() {
+        Money amount = Money.parse("0.5");
+        Document query = WalletQueries.debitable("w1", "u1", amount).getQueryObject();
+
+        assertThat(query.get("_id")).isEqualTo("w1");
+        assertThat(query.get("userId")).isEqualTo("u1");
+        assertThat(query.get("balance")).isEqualTo(new Document("$gte", amount.toDecimal128()));
+        assertThat(query.get("ledger")).isEqualTo(new Document("$ne", true));
+        // Сумма с одним знаком допустима для любой валюты
+        assertThat(query).doesNotContainKey("symbol");
+    }
+
+    @Test
+    void debitableExcludesCoarserCurrencies() {
+        Document query = WalletQueries.debitable("w1", "u1", Money.parse("0.0000001")).getQueryObject();
+
+        assertThat(symbolValues(query, "$nin")).containsExactlyInAnyOrder("USDT");
+    }
+
+    @Test
+    void debitableBeyondDefaultScaleOnlyMatchesFinerCurrencies() {
+        Document query = WalletQueries.debitable("w1", "u1", Money.parse("0.000000001")).getQueryObject();
+
+        assertThat(symbolValues(query, "$in")).containsExactly("ETH");
+    }
+
+    @Test
+    void transferKeepsPrecisionGuardNextToSymbol() {
+        Document query = WalletQueries.debitable("w1", "u1", Money.parse("0.000000001"), "BTC").getQueryObject();
+
+        List<Document> conditions = query.getList("$and", Document.class);
+        assertThat(conditions).hasSize(2);
+        Document guard = conditions.get(0);
+        assertThat(guard.get("_id")).isEqualTo("w1");
+        assertThat(symbolValues(guard, "$in")).containsExactly("ETH");
+        assertThat(conditions.get(1)).isEqualTo(new Document("symbol", "BTC"));
+    }
+
+    @Test
+    void transferWithCoarseCurrencyKeepsExclusion() {
+        Document query = WalletQueries.debitable("w1", "u1", Money.parse("0.0000001"), "USDT").getQueryObject();
+
+        List<Document> conditions = query.getList("$and", Document.class);
+        assertThat(symbolValues(conditions.get(0), "$nin")).containsExactly("USDT");
+        assertThat(conditions.get(1)).isEqualTo(new Document("symbol", "USDT"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object> symbolValues(Document query, String operator) {
+        return (List<Object>) ((Document) query.get("symbol")).get(operator);
+    }
+}
@@ -0,0 +1,275 @@
+package com.cryptowallet.summary;
+
+import com.cryptowallet.dto.PortfolioSummaryDTO;
+import com.cryptowallet.dto.WalletDTO;
+import com.cryptowallet.entity.PortfolioSummary;
+import com.cryptowallet.entity.Transaction;
+import com.cryptowallet.money.Money;
+import com.cryptowallet.money.MoneyConverters;
+import com.cryptowallet.repository.TransactionRepository;
+import org.bson.Document;
+import org.bson.types.Decimal128;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Документ сводки живёт в памяти: заглушка MongoTemplate применяет $inc/$max/$set/$setOnInsert так же, как Mongo,
+// а записи отправок видны сборке сразу после «записи». Шаги перемежаются так же, как запросы на разных потоках
+class MongoPortfolioSummariesTest {
+
+    private static final String USER = "u1";
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final TransactionRepository transactionRepository = mock(TransactionRepository.class);
+    private final MongoPortfolioSummaries summaries = new MongoPortfolioSummaries(mongoTemplate, transactionRepository);
+    private final MappingMongoConverter converter = converter();
+    private final List<Transaction> records = new ArrayList<>();
+    private Document stored;
+
+    @BeforeEach
+    void fakeMongo() {
+        when(mongoTemplate.findById(eq(USER), eq(PortfolioSummary.class))).thenAnswer(call -> read());
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(PortfolioSummary.class))).thenAnswer(call -> {
+            apply(call.getArgument(1), true);
+            return null;
+        });
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(PortfolioSummary.class))).thenAnswer(call -> {
+            apply(call.getArgument(1), false);
+            return null;
+        });
+        when(mongoTemplate.insert(any(PortfolioSummary.class))).thenAnswer(call -> {
+            if (stored != null) {
+                throw new DuplicateKeyException("portfolio_summaries");
+            }
+            stored = write(call.getArgument(0));
+            return call.getArgument(0);
+        });
+        when(mongoTemplate.findAndReplace(any(Query.class), any(PortfolioSummary.class))).thenAnswer(call -> {
+            if (!matches(call.getArgument(0))) {
+                return null;
+            }
+            PortfolioSummary replaced = read();
+            stored = write(call.getArgument(1));
+            return replaced;
+        });
+        when(mongoTemplate.find(any(Query.class), eq(Transaction.class))).thenAnswer(call -> List.copyOf(records));
+        when(transactionRepository.findUserPage(eq(USER), isNull(), isNull(), anyInt())).thenAnswer(call ->
+                records.stream().max(Comparator.comparing(Transaction::getTimestamp)).stream().toList());
+    }
+
+    @Test
+    void sendRecordedDuringRebuildIsCountedOnce() {
+        // Списание прошло, запись отправки видна, а приращение sent ещё не пришло — в этот момент читают сводку
+        summaries.sending(USER);
+        Transaction send = record("10");
+
+        PortfolioSummaryDTO during = summaries.get(USER, wallets("90"));
+        summaries.sent(USER, List.of(send));
+        PortfolioSummaryDTO after = summaries.get(USER, wallets("90"));
+        PortfolioSummaryDTO stable = summaries.get(USER, wallets("90"));
+
+        assertThat(during.getSent24h().get("ETH")).hasToString("10");
+        assertThat(after.getSent24h().get("ETH")).hasToString("10");
+        assertThat(stable.getSent24h().get("ETH")).hasToString("10");
+        assertThat(stable.getTotals().get("ETH")).hasToString("90");
+        assertThat(stored.getBoolean("partial")).isFalse();
+    }
+
+    @Test
+    void rebuildDoesNotReplaceWhileSendIsPending() {
+        summaries.sending(USER);
+        record("10");
+
+        summaries.get(USER, wallets("90"));
+
+        // Сборка уже видит запись, но документ не заменён: поздний sent не ляжет поверх собранного
+        assertThat(stored.getBoolean("partial")).isTrue();
+        assertThat(stored.get("pending", Number.class).longValue()).isEqualTo(1);
+    }
+
+    @Test
+    void sendAfterStoredRebuildIsAddedOnce() {
+        summaries.get(USER, wallets("100"));
+
+        summaries.sending(USER);
+        Transaction send = record("10");
+        summaries.sent(USER, List.of(send));
+        PortfolioSummaryDTO summary = summaries.get(USER, wallets("90"));
+
+        assertThat(summary.getSent24h().get("ETH")).hasToString("10");
+        assertThat(summary.getSent7d().get("ETH")).hasToString("10");
+        assertThat(summary.getTotals().get("ETH")).hasToString("90");
+    }
+
+    @Test
+    void unknownWriteOutcomeIsRebuiltFromRecords() {
+        summaries.get(USER, wallets("100"));
+
+        // Запись дошла до базы, но вызывающий получил ошибку
+        summaries.sending(USER);
+        record("10");
+        summaries.notSent(USER);
+        PortfolioSummaryDTO summary = summaries.get(USER, wallets("90"));
+
+        assertThat(summary.getSent24h().get("ETH")).hasToString("10");
+        assertThat(stored.getBoolean("partial")).isFalse();
+    }
+
+    @Test
+    void totalsAndWalletCountComeFromWallets() {
+        summaries.get(USER, wallets("100"));
+
+        // Кошелёк создан после сборки: приращений для него нет, суммы считаются по переданному списку
+        List<WalletDTO> wallets = new ArrayList<>(wallets("100"));
+        wallets.add(wallet("USDT", "5"));
+        PortfolioSummaryDTO summary = summaries.get(USER, wallets);
+
+        assertThat(summary.getWalletCount()).isEqualTo(2);
+        assertThat(summary.getTotals()).containsOnlyKeys("ETH", "USDT");
+        assertThat(summary.getTotals().get("USDT")).hasToString("5");
+    }
+
+    private Transaction record(String amount) {
+        Transaction send = Transaction.builder()
+                .id(UUID.randomUUID().toString())
+                .userId(USER)
+                .type("send")
+                .amount(Money.parse(amount))
+                .currency("ETH")
+                .timestamp(LocalDateTime.now())
+                .build();
+        records.add(send);
+        return send;
+    }
+
+    private static List<WalletDTO> wallets(String ethBalance) {
+        return List.of(wallet("ETH", ethBalance));
+    }
+
+    private static WalletDTO wallet(String symbol, String balance) {
+        return WalletDTO.builder().id(UUID.randomUUID().toString()).symbol(symbol).balance(Money.parse(balance)).build();
+    }
+
+    private PortfolioSummary read() {
+        return stored != null ? converter.read(PortfolioSummary.class, stored) : null;
+    }
+
+    private Document write(PortfolioSummary summary) {
+        Document document = new Document();
+        converter.write(summary, document);
+        return document;
+    }
+
+    private boolean matches(Query query) {
+        return stored != null && query.getQueryObject().entrySet().stream()
+                .allMatch(condition -> condition.getValue().equals(normalize(stored.get(condition.getKey()))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void apply(Update update, boolean upsert) {
+        boolean inserted = stored == null;
+        if (inserted && !upsert) {
+            return;
+        }
+        if (inserted) {
+            stored = new Document("_id", USER);
+        }
+        Document operations = update.getUpdateObject();
+        for (Map.Entry<String, Object> operation : operations.entrySet()) {
+            Map<String, Object> fields = (Map<String, Object>) operation.getValue();
+            fields.forEach((path, raw) -> {
+                Object value = converter.convertToMongoType(raw);
+                Object current = get(path);
+                switch (operation.getKey()) {
+                    case "$inc" -> set(path, add(current, value));
+                    case "$max" -> {
+                        if (current == null || ((Comparable<Object>) value).compareTo(current) > 0) {
+                            set(path, value);
+                        }
+                    }
+                    case "$set" -> set(path, value);
+                    case "$setOnInsert" -> {
+                        if (inserted) {
+                            set(path, value);
+                        }
+                    }
+                    case "$unset" -> parent(path).remove(last(path));
+                    default -> throw new IllegalArgumentException(operation.getKey());
+                }
+            });
+        }
+    }
+
+    private static Object add(Object current, Object value) {
+        if (value instanceof Decimal128 decimal) {
+            return new Decimal128((current != null ? ((Decimal128) current).bigDecimalValue()
+                    : BigDecimal.ZERO).add(decimal.bigDecimalValue()));
+        }
+        return (current != null ? ((Number) current).longValue() : 0) + ((Number) value).longValue();
+    }
+
+    // В документе числа хранятся как long, в фильтре — как пришли из сущности
+    private static Object normalize(Object value) {
+        return value instanceof Integer number ? number.longValue() : value;
+    }
+
+    private Object get(String path) {
+        return parent(path).get(last(path));
+    }
+
+    private void set(String path, Object value) {
+        parent(path).put(last(path), value);
+    }
+
+    private Document parent(String path) {
+        Document document = stored;
+        String[] parts = path.split("\\.");
+        for (int i = 0; i < parts.length - 1; i++) {
+            Object next = document.get(parts[i]);
+            if (!(next instanceof Document)) {
+                next = new Document();
+                document.put(parts[i], next);
+            }
+            document = (Document) next;
+        }
+        return document;
+    }
+
+    private static String last(String path) {
+        return path.substring(path.lastIndexOf('.') + 1);
+    }
+
+    private static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(MoneyConverters.all());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+}